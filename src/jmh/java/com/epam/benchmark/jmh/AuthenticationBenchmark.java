@@ -0,0 +1,82 @@
+package com.epam.benchmark.jmh;
+
+import com.epam.security.CachingAuthenticationProvider;
+import com.epam.security.CredentialCache;
+import com.epam.security.TokenRevocationRegistry;
+import com.epam.security.TokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one request: HTTP Basic through the {@link CredentialCache}, HTTP Basic
+ * on a cache miss, which pays the BCrypt check at the default strength, and a bearer token, which
+ * is a signature check plus the revocation lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AuthenticationBenchmark {
+
+    private static final String USERNAME = "user1";
+    private static final String PASSWORD = "correct-horse-battery-staple";
+
+    private AuthenticationProvider uncached;
+    private AuthenticationProvider cached;
+    private TokenService tokenService;
+    private TokenRevocationRegistry revocationRegistry;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+        UserDetails user = User.withUsername(USERNAME).password(encoder.encode(PASSWORD)).roles("USER").build();
+        DaoAuthenticationProvider dao = new DaoAuthenticationProvider(new InMemoryUserDetailsManager(user));
+        dao.setPasswordEncoder(encoder);
+        uncached = dao;
+        cached = new CachingAuthenticationProvider(dao,
+                new CredentialCache(10_000, Duration.ofMinutes(5), new SimpleMeterRegistry()));
+        cached.authenticate(credentials());
+
+        tokenService = new TokenService("benchmark-secret-that-is-long-enough-0123456789", Duration.ofMinutes(15));
+        revocationRegistry = new TokenRevocationRegistry(tokenService);
+        token = tokenService.issue(user);
+    }
+
+    @Benchmark
+    public Authentication basicCached() {
+        return cached.authenticate(credentials());
+    }
+
+    @Benchmark
+    public Authentication basicUncached() {
+        return uncached.authenticate(credentials());
+    }
+
+    @Benchmark
+    public boolean token() {
+        return tokenService.verify(token)
+                .filter(claims -> !revocationRegistry.isRevoked(claims.username(), claims.issuedAt()))
+                .isPresent();
+    }
+
+    private static Authentication credentials() {
+        return UsernamePasswordAuthenticationToken.unauthenticated(USERNAME, PASSWORD);
+    }
+}
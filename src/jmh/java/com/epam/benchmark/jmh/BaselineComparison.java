@@ -0,0 +1,91 @@
+package com.epam.benchmark.jmh;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares a JMH JSON result with the committed baseline, benchmark by benchmark. Times depend on
+ * the machine and are only reported; bytes allocated per operation ({@code gc.alloc.rate.norm})
+ * do not, so growth beyond the threshold, and beyond both runs' error margins, fails the run.
+ * <p>
+ * Arguments: baseline file, result file, allowed allocation growth in percent.
+ */
+public final class BaselineComparison {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    private static final double ALLOCATION_SLACK_BYTES = 16;
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, Run> baseline = read(Path.of(args[0]));
+        Map<String, Run> current = read(Path.of(args[1]));
+        double allowedGrowth = Double.parseDouble(args[2]) / 100;
+
+        int regressions = 0;
+        System.out.printf("%-48s %12s %12s %8s %12s %12s%n", "benchmark", "base score", "score", "unit",
+                "base B/op", "B/op");
+        for (Map.Entry<String, Run> entry : current.entrySet()) {
+            Run run = entry.getValue();
+            Run base = baseline.get(entry.getKey());
+            if (base == null) {
+                System.out.printf("%-48s %12s %12.3f %8s %12s %12.1f  new%n", entry.getKey(), "-", run.score(),
+                        run.unit(), "-", run.allocation());
+                continue;
+            }
+            boolean regressed = run.allocation() - run.allocationError()
+                    > base.allocation() * (1 + allowedGrowth) + base.allocationError() + ALLOCATION_SLACK_BYTES;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-48s %12.3f %12.3f %8s %12.1f %12.1f%s%n", entry.getKey(), base.score(),
+                    run.score(), run.unit(), base.allocation(), run.allocation(), regressed ? "  REGRESSION" : "");
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) allocate more than %.0f%% over the baseline%n", regressions,
+                    allowedGrowth * 100);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Run> read(Path file) throws IOException {
+        Map<String, Run> runs = new LinkedHashMap<>();
+        for (JsonNode node : new ObjectMapper().readTree(Files.readString(file))) {
+            StringBuilder key = new StringBuilder(node.path("benchmark").asText()
+                    .replace(BaselineComparison.class.getPackageName() + ".", ""));
+            Iterator<Map.Entry<String, JsonNode>> params = node.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            JsonNode primary = node.path("primaryMetric");
+            JsonNode allocation = allocation(node.path("secondaryMetrics"));
+            runs.put(key.toString(), new Run(primary.path("score").asDouble(), primary.path("scoreUnit").asText(),
+                    allocation.path("score").asDouble(), allocation.path("scoreError").asDouble()));
+        }
+        return runs;
+    }
+
+    private static JsonNode allocation(JsonNode secondaryMetrics) {
+        Iterator<Map.Entry<String, JsonNode>> metrics = secondaryMetrics.fields();
+        while (metrics.hasNext()) {
+            Map.Entry<String, JsonNode> metric = metrics.next();
+            if (metric.getKey().endsWith(ALLOCATION_METRIC)) {
+                return metric.getValue();
+            }
+        }
+        return secondaryMetrics.path(ALLOCATION_METRIC);
+    }
+
+    private record Run(double score, String unit, double allocation, double allocationError) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.epam.benchmark.jmh;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.epam.common.ErrorResponse;
+import com.epam.dto.UserCreateDTO;
+import com.epam.exception_handler.GlobalExceptionHandler;
+import com.epam.exceptions.InvalidRequestException;
+import com.epam.exceptions.ResourceNotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+/**
+ * Builds error responses through {@link GlobalExceptionHandler}. The handler's own logging is
+ * switched off, as console output would dominate the measurement.
+ */
+@State(Scope.Benchmark)
+public class ExceptionHandlerBenchmark {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/users/42");
+    private ResourceNotFoundException notFound;
+    private InvalidRequestException invalidRequest;
+    private MethodArgumentNotValidException invalidArgument;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        ((Logger) LoggerFactory.getLogger(GlobalExceptionHandler.class)).setLevel(Level.OFF);
+
+        notFound = new ResourceNotFoundException("User with this ID: 42 is not found");
+        invalidRequest = new InvalidRequestException("Sorting by 'password' is not supported");
+
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new UserCreateDTO(), "userCreateDTO");
+        bindingResult.rejectValue("username", "Size", "Username must be between 3 and 50 characters");
+        bindingResult.rejectValue("email", "Email", "Email should be valid");
+        MethodParameter parameter = new MethodParameter(
+                ExceptionHandlerBenchmark.class.getDeclaredMethod("create", UserCreateDTO.class), 0);
+        invalidArgument = new MethodArgumentNotValidException(parameter, bindingResult);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> notFound() {
+        return handler.handleResourceNotFoundException(notFound, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> badRequest() {
+        return handler.handleBadRequestExceptions(invalidRequest, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> validationErrors() {
+        return handler.handleValidationExceptions(invalidArgument, request);
+    }
+
+    @SuppressWarnings("unused")
+    private void create(UserCreateDTO dto) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.epam.benchmark.jmh;
+
+import com.epam.dto.UserView;
+import com.epam.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+final class Fixtures {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private Fixtures() {
+    }
+
+    static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        user.setEmail("user" + id + "@example.com");
+        user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z2xM9pYbW1qq8sD5sXz3z1a2");
+        user.setFirstName("First" + id);
+        user.setLastName("Last" + id);
+        user.setCreatedAt(CREATED_AT.plusMinutes(id));
+        user.setUpdatedAt(CREATED_AT.plusMinutes(id).plusSeconds(30));
+        return user;
+    }
+
+    static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            users.add(user(i));
+        }
+        return users;
+    }
+
+    static List<UserView> views(int count) {
+        List<UserView> views = new ArrayList<>(count);
+        for (User user : users(count)) {
+            views.add(new UserView(user.getId(), user.getUsername(), user.getEmail(), user.getFirstName(),
+                    user.getLastName(), user.isActive(), user.getCreatedAt(), user.getUpdatedAt()));
+        }
+        return views;
+    }
+}
@@ -0,0 +1,71 @@
+package com.epam.benchmark.jmh;
+
+import com.epam.common.ErrorResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Serializes the bodies the hot endpoints return with an {@link ObjectMapper} configured the way
+ * Spring Boot configures the MVC one (ISO dates, java.time module).
+ */
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private ErrorResponse errorResponse;
+
+    @Setup
+    public void setUp() {
+        errorResponse = new ErrorResponse(LocalDateTime.of(2024, 1, 1, 12, 0), 400, "Validation Error",
+                "Input validation failed", "/api/v1/users");
+        errorResponse.addValidationError("username", "Username must be between 3 and 50 characters");
+        errorResponse.addValidationError("email", "Email should be valid");
+    }
+
+    @Benchmark
+    public byte[] pageResponse(Page page) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page.response);
+    }
+
+    @Benchmark
+    public byte[] errorResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(errorResponse);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Page {
+
+        @Param({"10", "100"})
+        private int size;
+
+        private Map<String, Object> response;
+
+        /**
+         * Same shape as {@code UserServiceImpl#buildPaginationResponse}.
+         */
+        @Setup
+        public void setUp() {
+            response = new HashMap<>();
+            response.put("content", Fixtures.views(size));
+            response.put("currentPage", 0);
+            response.put("totalItems", 100_000L);
+            response.put("totalPages", 100_000 / size);
+            response.put("size", size);
+            response.put("first", true);
+            response.put("last", false);
+            response.put("sort", "id");
+            response.put("direction", "asc");
+            response.put("count", "exact");
+        }
+    }
+}
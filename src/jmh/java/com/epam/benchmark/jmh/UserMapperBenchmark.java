@@ -0,0 +1,43 @@
+package com.epam.benchmark.jmh;
+
+import com.epam.dto.UserDTO;
+import com.epam.mapper.UserMapper;
+import com.epam.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+@State(Scope.Benchmark)
+public class UserMapperBenchmark {
+
+    private final UserMapper mapper = new UserMapper();
+    private final User user = Fixtures.user(1);
+
+    @Benchmark
+    public UserDTO toDto() {
+        return mapper.toDto(user);
+    }
+
+    @Benchmark
+    public List<UserDTO> toDtoList(Page page) {
+        return mapper.toDtoList(page.users);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Page {
+
+        @Param({"10", "100"})
+        private int size;
+
+        private List<User> users;
+
+        @Setup
+        public void setUp() {
+            users = Fixtures.users(size);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.epam.common;
+
+import com.epam.exceptions.InvalidRequestException;
+
+import java.util.Arrays;
+
+/**
+ * How the users list endpoint determines {@code totalItems}: an exact {@code COUNT(*)},
+ * the periodically refreshed planner estimate, or not at all.
+ */
+public enum CountMode {
+    EXACT,
+    ESTIMATE,
+    NONE;
+
+    public static CountMode fromValue(String value) {
+        return Arrays.stream(values())
+                .filter(mode -> mode.name().equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new InvalidRequestException("Count mode must be one of: exact, estimate, none"));
+    }
+}
@@ -0,0 +1,66 @@
+package com.epam.common;
+
+import com.epam.dto.UserView;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Builds validators for conditional GETs on user resources. A user's version is its
+ * {@code updatedAt}, or {@code createdAt} when it was never updated, truncated to the
+ * microsecond precision the column stores.
+ */
+public final class ETags {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ETags() {
+    }
+
+    public static String forUser(Long id, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        return "\"" + id + "-" + Long.toHexString(versionOf(createdAt, updatedAt)) + "\"";
+    }
+
+    /**
+     * Hashes the id and version of every row together with the page metadata, so the tag changes
+     * whenever a row on the page changes or the page boundaries shift.
+     */
+    public static String forPage(List<UserView> users, Object... metadata) {
+        long hash = FNV_OFFSET_BASIS;
+        for (UserView user : users) {
+            hash = mix(hash, Objects.hashCode(user.id()));
+            hash = mix(hash, versionOf(user.createdAt(), user.updatedAt()));
+        }
+        for (Object part : metadata) {
+            hash = mix(hash, Objects.hashCode(part));
+        }
+        return "\"p-" + Long.toHexString(hash) + "\"";
+    }
+
+    public static long lastModified(LocalDateTime createdAt, LocalDateTime updatedAt) {
+        LocalDateTime version = updatedAt != null ? updatedAt : createdAt;
+        return version == null ? -1 : version.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static long versionOf(LocalDateTime createdAt, LocalDateTime updatedAt) {
+        LocalDateTime version = updatedAt != null ? updatedAt : createdAt;
+        if (version == null) {
+            return 0;
+        }
+        return ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC),
+                version.truncatedTo(ChronoUnit.MICROS));
+    }
+
+    private static long mix(long hash, long value) {
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash ^= (value >>> (i * 8)) & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,52 @@
+package com.epam.common;
+
+import com.epam.exceptions.InvalidRequestException;
+import org.springframework.http.MediaType;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * File formats accepted by the users import endpoint. The format is taken from the explicit
+ * {@code format} parameter, then the content type, then the file extension.
+ */
+public enum ImportFormat {
+    CSV(List.of("text/csv"), List.of(".csv")),
+    NDJSON(List.of(MediaType.APPLICATION_NDJSON_VALUE, "application/ndjson", "application/jsonl"),
+            List.of(".ndjson", ".jsonl"));
+
+    private final List<String> mediaTypes;
+    private final List<String> extensions;
+
+    ImportFormat(List<String> mediaTypes, List<String> extensions) {
+        this.mediaTypes = mediaTypes;
+        this.extensions = extensions;
+    }
+
+    public static ImportFormat resolve(String format, String contentType, String filename) {
+        if (format != null && !format.isBlank()) {
+            return Arrays.stream(values())
+                    .filter(value -> value.name().equalsIgnoreCase(format.trim()))
+                    .findFirst()
+                    .orElseThrow(() -> new InvalidRequestException("Import format must be one of: csv, ndjson"));
+        }
+        if (contentType != null) {
+            String mediaType = contentType.split(";")[0].trim().toLowerCase(Locale.ROOT);
+            for (ImportFormat value : values()) {
+                if (value.mediaTypes.contains(mediaType)) {
+                    return value;
+                }
+            }
+        }
+        if (filename != null) {
+            String name = filename.toLowerCase(Locale.ROOT);
+            for (ImportFormat value : values()) {
+                if (value.extensions.stream().anyMatch(name::endsWith)) {
+                    return value;
+                }
+            }
+        }
+        throw new InvalidRequestException("Unable to determine import format, pass format=csv or format=ndjson");
+    }
+}
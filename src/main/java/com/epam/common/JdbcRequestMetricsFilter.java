@@ -0,0 +1,83 @@
+package com.epam.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records per endpoint how many statements a request ran ({@code http.server.requests.jdbc.statements})
+ * and how long it spent in JDBC ({@code http.server.requests.jdbc}), tagged like
+ * {@code http.server.requests} by method and URI template. Runs ahead of the security filters, so
+ * the user lookups made while authenticating are included. Work handed to another thread (streamed
+ * exports) is not.
+ * <p>
+ * A request that runs the same statement {@code repeatedThreshold} times or more is logged as a
+ * likely N+1 and counted in {@code http.server.requests.jdbc.repeated}.
+ */
+@Slf4j
+public class JdbcRequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final int repeatedThreshold;
+
+    public JdbcRequestMetricsFilter(MeterRegistry meterRegistry, int repeatedThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.repeatedThreshold = repeatedThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        try (JdbcStatementMetrics.Usage usage = JdbcStatementMetrics.track()) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                record(request, usage);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, JdbcStatementMetrics.Usage usage) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+
+        DistributionSummary.builder("http.server.requests.jdbc.statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(usage.getStatements());
+        Timer.builder("http.server.requests.jdbc")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(usage.getNanos(), TimeUnit.NANOSECONDS);
+
+        Map<String, Integer> repeated = usage.getRepeated(repeatedThreshold);
+        if (!repeated.isEmpty()) {
+            Counter.builder("http.server.requests.jdbc.repeated")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+            repeated.forEach((sql, count) -> log.warn("{} {} ran the same statement {} times, possible N+1: {}",
+                    request.getMethod(), uri, count, JdbcStatementMetrics.redact(sql)));
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.epam.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Times every JDBC statement seen by the data source proxy as {@code jdbc.statements}, tagged by
+ * statement type and outcome, and adds it to every usage being tracked on this thread (see
+ * {@link #track()}). A batch counts as one statement. Statements slower than the threshold are
+ * logged without their bind values, with any inline literals masked.
+ */
+@Slf4j
+public class JdbcStatementMetrics implements QueryExecutionListener {
+
+    private static final String STARTED = JdbcStatementMetrics.class.getName() + ".started";
+    private static final ThreadLocal<Usage> CURRENT = new ThreadLocal<>();
+    private static final Pattern LITERALS = Pattern.compile("'(?:[^']|'')*'|\\b\\d+(?:\\.\\d+)?\\b");
+
+    private final MeterRegistry meterRegistry;
+    private final long slowThresholdNanos;
+
+    public JdbcStatementMetrics(MeterRegistry meterRegistry, Duration slowThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    /**
+     * Starts collecting the statements run on this thread until the returned usage is closed.
+     * Usages nest: statements count towards the innermost one and all its enclosing ones.
+     */
+    public static Usage track() {
+        Usage usage = new Usage(CURRENT.get());
+        CURRENT.set(usage);
+        return usage;
+    }
+
+    /**
+     * Masks string and numeric literals, leaving the statement's shape.
+     */
+    public static String redact(String sql) {
+        return LITERALS.matcher(sql).replaceAll("?");
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(STARTED, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long started = execInfo.getCustomValue(STARTED, Long.class);
+        if (started == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - started;
+        String sql = sql(queryInfoList);
+
+        Timer.builder("jdbc.statements")
+                .tag("type", type(queryInfoList).name().toLowerCase())
+                .tag("outcome", execInfo.isSuccess() ? "success" : "error")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+
+        if (elapsed >= slowThresholdNanos) {
+            log.warn("Slow JDBC statement took {} ms{}: {}", TimeUnit.NANOSECONDS.toMillis(elapsed),
+                    execInfo.isBatch() ? " (batch of " + execInfo.getBatchSize() + ")" : "", redact(sql));
+        }
+
+        for (Usage usage = CURRENT.get(); usage != null; usage = usage.parent) {
+            usage.record(sql, elapsed);
+        }
+    }
+
+    private static String sql(List<QueryInfo> queryInfoList) {
+        return queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+    }
+
+    private static QueryType type(List<QueryInfo> queryInfoList) {
+        return queryInfoList.isEmpty() ? QueryType.OTHER : QueryUtils.getQueryType(queryInfoList.get(0).getQuery());
+    }
+
+    /**
+     * Statements and JDBC time accumulated on one thread between {@link #track()} and {@link #close()}.
+     */
+    public static final class Usage implements AutoCloseable {
+        private final Usage parent;
+        private final Map<String, Integer> executions = new HashMap<>();
+        private int statements;
+        private long nanos;
+
+        private Usage(Usage parent) {
+            this.parent = parent;
+        }
+
+        private void record(String sql, long elapsed) {
+            statements++;
+            nanos += elapsed;
+            executions.merge(sql, 1, Integer::sum);
+        }
+
+        public int getStatements() {
+            return statements;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * Execution count per distinct statement text, in descending order of count.
+         */
+        public Map<String, Integer> getExecutions() {
+            return executions.entrySet().stream()
+                    .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a,
+                            LinkedHashMap::new));
+        }
+
+        /**
+         * Statements executed at least {@code threshold} times with identical text, the usual
+         * signature of an N+1 select.
+         */
+        public Map<String, Integer> getRepeated(int threshold) {
+            Map<String, Integer> repeated = new LinkedHashMap<>();
+            getExecutions().forEach((sql, count) -> {
+                if (count >= threshold) {
+                    repeated.put(sql, count);
+                }
+            });
+            return repeated;
+        }
+
+        @Override
+        public void close() {
+            if (CURRENT.get() == this) {
+                if (parent != null) {
+                    CURRENT.set(parent);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.epam.common;
+
+import com.epam.exceptions.InvalidRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque position in a keyset-paginated listing: the sort it belongs to plus the sort key
+ * and id of the last row returned.
+ */
+public record KeysetCursor(UserSortField sortField, Sort.Direction direction, Object key, Long id) {
+
+    private static final char SEPARATOR = '\u0000';
+    private static final char NULL_KEY = 'N';
+    private static final char PRESENT_KEY = 'V';
+
+    public String encode() {
+        String formattedKey = sortField.format(key);
+        String payload = sortField.getProperty() + SEPARATOR + direction.name() + SEPARATOR + id + SEPARATOR
+                + (formattedKey == null ? String.valueOf(NULL_KEY) : PRESENT_KEY + formattedKey);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        String payload;
+        try {
+            payload = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+
+        String[] parts = payload.split(String.valueOf(SEPARATOR), 4);
+        if (parts.length != 4 || parts[3].isEmpty()) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+
+        UserSortField sortField = UserSortField.fromProperty(parts[0]);
+        Sort.Direction direction;
+        Long id;
+        try {
+            direction = Sort.Direction.valueOf(parts[1]);
+            id = Long.valueOf(parts[2]);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+
+        Object key = parts[3].charAt(0) == NULL_KEY ? null : sortField.parse(parts[3].substring(1));
+        return new KeysetCursor(sortField, direction, key, id);
+    }
+}
@@ -0,0 +1,159 @@
+package com.epam.common;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Connection source for read-only transactions: round-robin over the replicas currently marked
+ * healthy, falling back to the primary when none is, or when {@code primaryRequired} says the
+ * caller must see its own recent writes. A replica that fails to hand out a connection is marked
+ * down at once; a background check probes every replica on a fixed interval and brings it back
+ * when it answers again.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final BooleanSupplier primaryRequired;
+    private final ScheduledExecutorService healthCheck;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder replicaConnections = new LongAdder();
+    private final LongAdder primaryConnections = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    BooleanSupplier primaryRequired, Duration healthCheckInterval) {
+        this.primary = primary;
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+        this.primaryRequired = primaryRequired;
+        this.healthCheck = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthCheck.scheduleWithFixedDelay(this::checkHealth, healthCheckInterval.toMillis(),
+                healthCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (primaryRequired.getAsBoolean()) {
+            primaryConnections.increment();
+            return primary.getConnection();
+        }
+
+        int start = next.getAndIncrement();
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replicaConnections.increment();
+                return connection;
+            } catch (SQLException e) {
+                markDown(replica, e);
+            }
+        }
+
+        fallbacks.increment();
+        primaryConnections.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica connections use the configured credentials");
+    }
+
+    /**
+     * Probes every replica with a fresh connection and updates its health.
+     */
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    throw new SQLException("Connection did not validate within " + VALIDATION_TIMEOUT_SECONDS + "s");
+                }
+                if (!replica.healthy) {
+                    replica.healthy = true;
+                    log.info("Read replica {} is healthy again", replica.name);
+                }
+            } catch (SQLException | RuntimeException e) {
+                markDown(replica, e);
+            }
+        }
+    }
+
+    public int getHealthyReplicas() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    public long getReplicaConnections() {
+        return replicaConnections.sum();
+    }
+
+    public long getPrimaryConnections() {
+        return primaryConnections.sum();
+    }
+
+    /**
+     * Read-only connections taken from the primary because no replica was available.
+     */
+    public long getFallbacks() {
+        return fallbacks.sum();
+    }
+
+    @Override
+    public void close() {
+        healthCheck.shutdownNow();
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Failed to close read replica {}: {}", replica.name, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static void markDown(Replica replica, Exception cause) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("Read replica {} is unavailable, routing its reads elsewhere: {}", replica.name,
+                    cause.getMessage());
+        }
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.epam.common;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates the annotated id with a {@link ShardAwareSequenceGenerator} over the named sequence.
+ */
+@IdGeneratorType(ShardAwareSequenceGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface ShardAwareSequence {
+
+    /**
+     * Name of the sequence, which every shard has.
+     */
+    String name();
+
+    /**
+     * Number of ids allocated per sequence call; must match the sequence's {@code INCREMENT BY}.
+     */
+    int incrementSize();
+}
@@ -0,0 +1,85 @@
+package com.epam.common;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Sequence generator that needs no coordination between shards. With a single shard it is the
+ * plain pooled sequence generator. With {@code n} shards every shard allocates blocks from its own
+ * sequence, and a value {@code v} allocated on shard {@code s} becomes the id {@code v * n + s},
+ * so {@link ShardContext#shardOf} finds the shard again from the id alone. Entities select it
+ * with {@link ShardAwareSequence}.
+ */
+public class ShardAwareSequenceGenerator extends SequenceStyleGenerator {
+
+    /**
+     * Hibernate setting carrying the number of shards; absent means one.
+     */
+    public static final String SHARD_COUNT = "app.sharding.shard-count";
+
+    private final ShardAwareSequence config;
+    private int shardCount = 1;
+    private Block[] blocks;
+
+    public ShardAwareSequenceGenerator(ShardAwareSequence config) {
+        this.config = config;
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        parameters.setProperty(SEQUENCE_PARAM, config.name());
+        parameters.setProperty(INCREMENT_PARAM, String.valueOf(config.incrementSize()));
+        super.configure(type, parameters, serviceRegistry);
+        shardCount = serviceRegistry.requireService(ConfigurationService.class)
+                .getSetting(SHARD_COUNT, StandardConverters.INTEGER, 1);
+        blocks = new Block[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            blocks[i] = new Block();
+        }
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        if (shardCount == 1) {
+            return super.generate(session, object);
+        }
+        int shard = ShardContext.current();
+        long value = blocks[shard].next(getDatabaseStructure().getIncrementSize(),
+                () -> getDatabaseStructure().buildCallback(session).getNextValue().makeValue().longValue());
+        return value * shardCount + shard;
+    }
+
+    /**
+     * Pooled-lo block of one shard's sequence: the sequence value is the first of
+     * {@code incrementSize} values handed out locally. Refilling runs a query while holding the
+     * lock, so it is a {@link ReentrantLock} rather than a monitor, which would pin virtual threads.
+     */
+    private static final class Block {
+        private final Lock lock = new ReentrantLock();
+        private long next;
+        private long limit;
+
+        long next(int incrementSize, LongSupplier sequence) {
+            lock.lock();
+            try {
+                if (next == limit) {
+                    next = sequence.getAsLong();
+                    limit = next + incrementSize;
+                }
+                return next++;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
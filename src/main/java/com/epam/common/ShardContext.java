@@ -0,0 +1,71 @@
+package com.epam.common;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * The shard the current thread's JDBC work goes to. {@link ShardRoutingDataSource} reads it when a
+ * connection is actually fetched and {@link ShardAwareSequenceGenerator} when it allocates an id,
+ * so a transaction stays on the shard that was current at its first statement. Outside
+ * {@link #callOn} it is the shard the active transaction is bound to, if any, else shard 0.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static int current() {
+        Integer shard = CURRENT.get();
+        if (shard == null) {
+            shard = transactionShard();
+        }
+        return shard == null ? 0 : shard;
+    }
+
+    /**
+     * The shard the active transaction is bound to, or {@code null}.
+     */
+    public static Integer transactionShard() {
+        return (Integer) TransactionSynchronizationManager.getResource(ShardContext.class);
+    }
+
+    /**
+     * Binds the active transaction to a shard until it completes, so statements it runs outside
+     * {@link #callOn}, such as the flush at commit, still reach that shard.
+     */
+    public static void bindTransaction(int shard) {
+        TransactionSynchronizationManager.bindResource(ShardContext.class, shard);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ShardContext.class);
+            }
+        });
+    }
+
+    public static <T> T callOn(int shard, Supplier<T> action) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Shard holding the row with the given id: its residue modulo the shard count, which
+     * {@link ShardAwareSequenceGenerator} makes equal to the shard that allocated it.
+     */
+    public static int shardOf(long id, int shardCount) {
+        return (int) Math.floorMod(id, (long) shardCount);
+    }
+}
@@ -0,0 +1,75 @@
+package com.epam.common;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * K-way merge of sources that are each already sorted by the same order, holding one element per
+ * source in a heap. Equal elements come out in source order.
+ */
+public final class SortedMerge {
+
+    private SortedMerge() {
+    }
+
+    public static <T> Iterator<T> merge(List<? extends Iterator<? extends T>> sources, Comparator<? super T> order) {
+        return new MergingIterator<>(sources, order);
+    }
+
+    /**
+     * The first {@code limit} elements of the merged lists.
+     */
+    public static <T> List<T> merge(List<? extends List<? extends T>> sources, Comparator<? super T> order,
+                                    int limit) {
+        List<Iterator<? extends T>> iterators = new ArrayList<>(sources.size());
+        sources.forEach(source -> iterators.add(source.iterator()));
+        Iterator<T> merged = merge(iterators, order);
+
+        List<T> result = new ArrayList<>(Math.min(limit, sources.stream().mapToInt(List::size).sum()));
+        while (result.size() < limit && merged.hasNext()) {
+            result.add(merged.next());
+        }
+        return result;
+    }
+
+    private static final class MergingIterator<T> implements Iterator<T> {
+
+        private final PriorityQueue<Head<T>> heads;
+
+        private MergingIterator(List<? extends Iterator<? extends T>> sources, Comparator<? super T> order) {
+            Comparator<Head<T>> byValue = (left, right) -> order.compare(left.value, right.value);
+            this.heads = new PriorityQueue<>(Math.max(1, sources.size()),
+                    byValue.thenComparingInt(head -> head.source));
+            for (int i = 0; i < sources.size(); i++) {
+                Iterator<? extends T> source = sources.get(i);
+                if (source.hasNext()) {
+                    heads.add(new Head<>(source.next(), i, source));
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            Head<T> head = heads.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            if (head.rest.hasNext()) {
+                heads.add(new Head<>(head.rest.next(), head.source, head.rest));
+            }
+            return head.value;
+        }
+    }
+
+    private record Head<T>(T value, int source, Iterator<? extends T> rest) {
+    }
+}
@@ -0,0 +1,70 @@
+package com.epam.common;
+
+import com.epam.exceptions.InvalidRequestException;
+import com.epam.dto.UserView;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Sort keys the users list endpoint accepts, with the type information keyset pagination
+ * needs to encode and decode the last seen value.
+ */
+public enum UserSortField {
+    ID("id", false, UserView::id, Long::valueOf),
+    USERNAME("username", false, UserView::username, value -> value),
+    EMAIL("email", false, UserView::email, value -> value),
+    FIRST_NAME("firstName", true, UserView::firstName, value -> value),
+    LAST_NAME("lastName", true, UserView::lastName, value -> value),
+    ACTIVE("active", false, UserView::active, Boolean::valueOf),
+    CREATED_AT("createdAt", true, UserView::createdAt, LocalDateTime::parse),
+    UPDATED_AT("updatedAt", true, UserView::updatedAt, LocalDateTime::parse);
+
+    private final String property;
+    private final boolean nullable;
+    private final Function<UserView, Object> extractor;
+    private final Function<String, Object> parser;
+
+    UserSortField(String property, boolean nullable, Function<UserView, Object> extractor,
+                  Function<String, Object> parser) {
+        this.property = property;
+        this.nullable = nullable;
+        this.extractor = extractor;
+        this.parser = parser;
+    }
+
+    public static UserSortField fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(field -> field.property.equals(property))
+                .findFirst()
+                .orElseThrow(() -> new InvalidRequestException("Sorting by '" + property + "' is not supported"));
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public boolean isNullable() {
+        return nullable;
+    }
+
+    public Object valueOf(UserView user) {
+        return extractor.apply(user);
+    }
+
+    public String format(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    public Object parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (RuntimeException e) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+}
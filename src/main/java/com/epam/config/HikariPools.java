@@ -0,0 +1,56 @@
+package com.epam.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.ObjectProvider;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Additional connection pools modelled on the primary one, for read replicas and shards.
+ */
+final class HikariPools {
+
+    private HikariPools() {
+    }
+
+    static HikariDataSource primaryPool(DataSource dataSource, String beanName) {
+        try {
+            return dataSource.unwrap(HikariDataSource.class);
+        } catch (SQLException e) {
+            throw new BeanCreationException(beanName, "Additional databases need a Hikari primary pool", e);
+        }
+    }
+
+    /**
+     * Same driver, credentials, driver properties, sizing and lifetimes as the primary pool, for
+     * another database. Registers the pool's metrics when a registry is available.
+     */
+    static HikariConfig derive(HikariDataSource primaryPool, String url, String name,
+                               ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setDriverClassName(primaryPool.getDriverClassName());
+        config.setUsername(primaryPool.getUsername());
+        config.setPassword(primaryPool.getPassword());
+        config.setDataSourceProperties(primaryPool.getDataSourceProperties());
+        // The primary has not started yet, so unset sizes still read as -1 (Hikari's defaults)
+        if (primaryPool.getMaximumPoolSize() > 0) {
+            config.setMaximumPoolSize(primaryPool.getMaximumPoolSize());
+        }
+        if (primaryPool.getMinimumIdle() >= 0) {
+            config.setMinimumIdle(primaryPool.getMinimumIdle());
+        }
+        config.setIdleTimeout(primaryPool.getIdleTimeout());
+        config.setMaxLifetime(primaryPool.getMaxLifetime());
+        config.setConnectionTimeout(primaryPool.getConnectionTimeout());
+        config.setPoolName(name);
+        meterRegistry.ifAvailable(registry ->
+                config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        return config;
+    }
+}
@@ -0,0 +1,54 @@
+package com.epam.config;
+
+import com.epam.common.JdbcRequestMetricsFilter;
+import com.epam.common.JdbcStatementMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * JDBC instrumentation on top of the auto-configured HTTP, Hikari and Hibernate metrics: the data
+ * source is wrapped in a statement-level proxy feeding {@link JdbcStatementMetrics}, and
+ * {@link JdbcRequestMetricsFilter} attributes the statements to the endpoint that ran them. Together they
+ * replace {@code show-sql}: only slow statements and repeated ones (likely N+1) are logged.
+ * Service and authentication latency come from {@code @Timed}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfig {
+
+    @Bean
+    public static BeanPostProcessor jdbcStatementMetrics(ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.jdbc.slow-query-threshold:200ms}") Duration slowQueryThreshold) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(new JdbcStatementMetrics(meterRegistry.getObject(), slowQueryThreshold))
+                        .build();
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<JdbcRequestMetricsFilter> jdbcRequestMetricsFilter(MeterRegistry meterRegistry,
+            @Value("${app.jdbc.repeated-statement-threshold:5}") int repeatedStatementThreshold) {
+        FilterRegistrationBean<JdbcRequestMetricsFilter> registration = new FilterRegistrationBean<>(
+                new JdbcRequestMetricsFilter(meterRegistry, repeatedStatementThreshold));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
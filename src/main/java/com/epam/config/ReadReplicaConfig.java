@@ -0,0 +1,129 @@
+package com.epam.config;
+
+import com.epam.common.ReplicaRoutingDataSource;
+import com.epam.service.impl.ReadYourWrites;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Active when {@code app.datasource.replicas.urls} lists at least one replica. The primary pool is
+ * fronted by a {@link LazyConnectionDataSourceProxy}, which defers fetching a physical connection
+ * until the first statement. By then a {@code @Transactional(readOnly = true)} method (including
+ * Spring Data's read methods) has marked the connection read-only, so it is taken from
+ * {@link ReplicaRoutingDataSource}; everything else goes to the primary. Replica pools copy the
+ * primary pool's credentials and sizing, and use a shorter connection timeout so that a dead
+ * replica fails over quickly. Startup fails if {@link ShardingConfig} is active as well.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnExpression("!'${app.datasource.replicas.urls:}'.isBlank()")
+public class ReadReplicaConfig {
+
+    @Bean
+    public static DestructionAwareBeanPostProcessor readReplicaRouting(
+            ObjectProvider<ReadYourWrites> readYourWrites,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.datasource.replicas.urls}") List<String> urls,
+            @Value("${app.datasource.replicas.health-check-interval:5s}") Duration healthCheckInterval,
+            @Value("${app.datasource.replicas.connection-timeout:2s}") Duration connectionTimeout) {
+        return new ReadReplicaRouting(readYourWrites, meterRegistry, urls, healthCheckInterval, connectionTimeout);
+    }
+
+    /**
+     * Runs after the JDBC concurrency limiter and before the statement metrics proxy, so the
+     * limiter still guards the primary and the metrics see replica statements too.
+     */
+    @RequiredArgsConstructor
+    private static final class ReadReplicaRouting implements DestructionAwareBeanPostProcessor, Ordered {
+
+        private final ObjectProvider<ReadYourWrites> readYourWrites;
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private final List<String> urls;
+        private final Duration healthCheckInterval;
+        private final Duration connectionTimeout;
+        private final Map<String, ReplicaRoutingDataSource> routers = new ConcurrentHashMap<>();
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource primary)) {
+                return bean;
+            }
+
+            HikariDataSource primaryPool = HikariPools.primaryPool(primary, beanName);
+            Map<String, DataSource> replicas = new LinkedHashMap<>();
+            for (int i = 0; i < urls.size(); i++) {
+                String name = "replica-" + (i + 1);
+                replicas.put(name, replicaPool(primaryPool, urls.get(i).trim(), name));
+            }
+
+            ReadYourWrites consistency = readYourWrites.getObject();
+            ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primary, replicas,
+                    consistency::requiresPrimary, healthCheckInterval);
+            routers.put(beanName, router);
+            meterRegistry.ifAvailable(registry -> register(registry, router));
+
+            LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primary);
+            routing.setReadOnlyDataSource(router);
+            return routing;
+        }
+
+        @Override
+        public boolean requiresDestruction(Object bean) {
+            return bean instanceof DataSource;
+        }
+
+        @Override
+        public void postProcessBeforeDestruction(Object bean, String beanName) {
+            ReplicaRoutingDataSource router = routers.remove(beanName);
+            if (router != null) {
+                router.close();
+            }
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+
+        private HikariDataSource replicaPool(HikariDataSource primaryPool, String url, String name) {
+            HikariConfig config = HikariPools.derive(primaryPool, url, name, meterRegistry);
+            config.setReadOnly(true);
+            config.setConnectionTimeout(Math.min(primaryPool.getConnectionTimeout(), connectionTimeout.toMillis()));
+            config.setInitializationFailTimeout(-1);
+            return new HikariDataSource(config);
+        }
+
+        private static void register(MeterRegistry registry, ReplicaRoutingDataSource router) {
+            Gauge.builder("jdbc.replicas.healthy", router, ReplicaRoutingDataSource::getHealthyReplicas)
+                    .register(registry);
+            FunctionCounter.builder("jdbc.replicas.connections", router,
+                            ReplicaRoutingDataSource::getReplicaConnections)
+                    .tag("target", "replica")
+                    .register(registry);
+            FunctionCounter.builder("jdbc.replicas.connections", router,
+                            ReplicaRoutingDataSource::getPrimaryConnections)
+                    .tag("target", "primary")
+                    .register(registry);
+            FunctionCounter.builder("jdbc.replicas.fallbacks", router, ReplicaRoutingDataSource::getFallbacks)
+                    .register(registry);
+        }
+    }
+}
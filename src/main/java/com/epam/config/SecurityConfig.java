@@ -1,10 +1,17 @@
 package com.epam.config;
 
+import com.epam.security.CachingAuthenticationProvider;
+import com.epam.security.CredentialCache;
+import com.epam.security.TokenAuthenticationFilter;
+import com.epam.security.TokenRevocationRegistry;
+import com.epam.security.TokenService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -15,6 +22,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
@@ -23,18 +31,26 @@ import org.springframework.security.web.SecurityFilterChain;
 public class SecurityConfig {
 
     private final UserDetailsService userDetailsService;
+    private final TokenService tokenService;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         return http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(HttpMethod.POST, "/api/v1/auth/token").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/v1/users/availability").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/users").hasAnyRole("USER")
                         .requestMatchers(HttpMethod.GET, "/api/v1/users/**").hasAnyRole("USER")
                         .requestMatchers(HttpMethod.POST, "/api/v1/users").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/v1/users/batch", "/api/v1/users/bulk/**",
+                                "/api/v1/users/import").hasRole("USER")
                         .requestMatchers(HttpMethod.PUT, "/api/v1/users/**").hasAnyRole("USER")
                         .requestMatchers(HttpMethod.DELETE, "/api/v1/users/**").hasRole("USER")
                         .anyRequest().authenticated())
+                .addFilterBefore(new TokenAuthenticationFilter(tokenService, tokenRevocationRegistry),
+                        BasicAuthenticationFilter.class)
                 .httpBasic(Customizer.withDefaults())
                 .build();
     }
@@ -44,6 +60,13 @@ public class SecurityConfig {
         return new BCryptPasswordEncoder();
     }
 
+    @Bean
+    public AuthenticationProvider authenticationProvider(CredentialCache credentialCache) {
+        DaoAuthenticationProvider daoProvider = new DaoAuthenticationProvider(userDetailsService);
+        daoProvider.setPasswordEncoder(passwordEncoder());
+        return new CachingAuthenticationProvider(daoProvider, credentialCache);
+    }
+
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration authConfig) throws Exception {
         return authConfig.getAuthenticationManager();
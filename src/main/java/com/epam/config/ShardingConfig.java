@@ -0,0 +1,188 @@
+package com.epam.config;
+
+import com.epam.common.ShardAwareSequenceGenerator;
+import com.epam.common.ShardRoutingDataSource;
+import com.epam.repository.ShardedUserRepository;
+import com.epam.repository.UserDirectory;
+import com.epam.repository.UserDirectoryRepair;
+import com.epam.repository.UserRepository;
+import com.epam.repository.UserStore;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Active when {@code app.sharding.urls} lists additional shards. The configured database is
+ * shard 0 and also holds the {@link UserDirectory}, which has a pool of its own; every listed
+ * database is one more shard with the same schema, migrated together with shard 0. The primary
+ * pool is replaced by a {@link ShardRoutingDataSource} over all shards, behind a
+ * {@link LazyConnectionDataSourceProxy} so a transaction's connection is fetched only once its
+ * shard is known, and the services' {@link UserStore} is a {@link ShardedUserRepository} that
+ * picks the shard per call; {@link UserDirectoryRepair} removes directory entries left behind by
+ * failed writes. Existing rows are not moved: a database that already holds users needs them
+ * redistributed before more shards are added. Read replicas are not supported alongside shards.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnExpression("!'${app.sharding.urls:}'.isBlank()")
+public class ShardingConfig {
+
+    /**
+     * Read replicas are rejected: their routing would wrap the same primary data source and only
+     * ever replicate shard 0.
+     */
+    @Bean
+    public static DestructionAwareBeanPostProcessor shardRouting(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.sharding.urls}") List<String> urls,
+            @Value("${app.datasource.replicas.urls:}") String replicaUrls) {
+        if (!replicaUrls.isBlank()) {
+            throw new IllegalStateException(
+                    "app.sharding.urls and app.datasource.replicas.urls cannot be combined");
+        }
+        return new ShardRouting(meterRegistry, urls);
+    }
+
+    /**
+     * Takes precedence over the Spring Data repository wherever a {@link UserStore} is injected.
+     */
+    @Bean
+    @Primary
+    public ShardedUserRepository shardedUserRepository(UserRepository userRepository, UserDirectory directory,
+                                                       EntityManagerFactory entityManagerFactory,
+                                                       PlatformTransactionManager transactionManager,
+                                                       @Value("${app.sharding.urls}") List<String> urls) {
+        return new ShardedUserRepository(userRepository, directory, urls.size() + 1, entityManagerFactory,
+                transactionManager);
+    }
+
+    /**
+     * The directory gets a small pool of its own on shard 0: its writes run while the shard
+     * transaction holds a connection, and waiting on that transaction's pool could exhaust it.
+     */
+    @Bean
+    public UserDirectory userDirectory(DataSource dataSource, ObjectProvider<MeterRegistry> meterRegistry,
+                                       @Value("${app.sharding.directory-pool-size:4}") int poolSize)
+            throws SQLException {
+        HikariDataSource shard0 = HikariPools.primaryPool(
+                dataSource.unwrap(ShardRoutingDataSource.class).getShard(0), "userDirectory");
+        HikariConfig config = HikariPools.derive(shard0, shard0.getJdbcUrl(), "user-directory", meterRegistry);
+        config.setMaximumPoolSize(poolSize);
+        return new UserDirectory(new HikariDataSource(config));
+    }
+
+    @Bean
+    public UserDirectoryRepair userDirectoryRepair(UserDirectory directory, DataSource dataSource,
+                                                   @Value("${app.sharding.directory-repair.grace:10m}") Duration grace,
+                                                   @Value("${app.sharding.directory-repair.batch-size:1000}") int batchSize)
+            throws SQLException {
+        ShardRoutingDataSource router = dataSource.unwrap(ShardRoutingDataSource.class);
+        List<DataSource> shards = IntStream.range(0, router.getShardCount()).mapToObj(router::getShard).toList();
+        return new UserDirectoryRepair(directory, shards, grace, batchSize);
+    }
+
+    /**
+     * Lets {@link ShardAwareSequenceGenerator} spread ids over the shards.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer shardCountProperty(@Value("${app.sharding.urls}") List<String> urls) {
+        return properties -> properties.put(ShardAwareSequenceGenerator.SHARD_COUNT, urls.size() + 1);
+    }
+
+    /**
+     * Applies the migrations to shard 0, through the routing data source, and then to every other
+     * shard with the same Flyway configuration.
+     */
+    @Bean
+    public FlywayMigrationStrategy shardMigrations() {
+        return flyway -> {
+            flyway.migrate();
+            ShardRoutingDataSource router;
+            try {
+                router = flyway.getConfiguration().getDataSource().unwrap(ShardRoutingDataSource.class);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Flyway does not run on the shard routing data source", e);
+            }
+            for (int shard = 1; shard < router.getShardCount(); shard++) {
+                Flyway.configure()
+                        .configuration(flyway.getConfiguration())
+                        .dataSource(router.getShard(shard))
+                        .load()
+                        .migrate();
+            }
+        };
+    }
+
+    /**
+     * Runs after the JDBC concurrency limiter, which therefore guards shard 0 only, and before the
+     * statement metrics proxy, which sees the statements of every shard.
+     */
+    @RequiredArgsConstructor
+    private static final class ShardRouting implements DestructionAwareBeanPostProcessor, Ordered {
+
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private final List<String> urls;
+        private final Map<String, ShardRoutingDataSource> routers = new ConcurrentHashMap<>();
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource primary)) {
+                return bean;
+            }
+
+            HikariDataSource primaryPool = HikariPools.primaryPool(primary, beanName);
+            List<DataSource> shards = new ArrayList<>(urls.size() + 1);
+            shards.add(primary);
+            for (int i = 0; i < urls.size(); i++) {
+                String name = "shard-" + (i + 1);
+                shards.add(new HikariDataSource(
+                        HikariPools.derive(primaryPool, urls.get(i).trim(), name, meterRegistry)));
+            }
+
+            ShardRoutingDataSource router = new ShardRoutingDataSource(shards);
+            routers.put(beanName, router);
+            return new LazyConnectionDataSourceProxy(router);
+        }
+
+        @Override
+        public boolean requiresDestruction(Object bean) {
+            return bean instanceof DataSource;
+        }
+
+        @Override
+        public void postProcessBeforeDestruction(Object bean, String beanName) {
+            ShardRoutingDataSource router = routers.remove(beanName);
+            if (router != null) {
+                router.close();
+            }
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+    }
+}
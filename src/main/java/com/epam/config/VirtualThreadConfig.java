@@ -0,0 +1,68 @@
+package com.epam.config;
+
+import com.epam.common.ConcurrencyLimitingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Active with {@code spring.threads.virtual.enabled=true}, which moves Tomcat request handling,
+ * the MVC async executor (streamed exports) and scheduled tasks onto virtual threads. Blocking
+ * no longer costs a thread, so JDBC concurrency is capped here instead: the pooled data source
+ * is fronted by a fair semaphore with one permit per pooled connection. The limiter wraps the pool
+ * ahead of any other data source post-processor (such as the statement metrics proxy).
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor jdbcConcurrencyLimiter(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new JdbcConcurrencyLimiter(meterRegistry);
+    }
+
+    @RequiredArgsConstructor
+    private static final class JdbcConcurrencyLimiter implements BeanPostProcessor, Ordered {
+
+        // Hikari's maximumPoolSize when none is configured
+        private static final int DEFAULT_POOL_SIZE = 10;
+
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof HikariDataSource hikari)) {
+                return bean;
+            }
+            // The pool has not started yet, so an unset size still reads as -1
+            int permits = hikari.getMaximumPoolSize() > 0 ? hikari.getMaximumPoolSize() : DEFAULT_POOL_SIZE;
+            ConcurrencyLimitingDataSource limited = new ConcurrencyLimitingDataSource(hikari,
+                    permits, Duration.ofMillis(hikari.getConnectionTimeout()));
+            meterRegistry.ifAvailable(registry -> {
+                Gauge.builder("jdbc.concurrency.available", limited,
+                                ConcurrencyLimitingDataSource::getAvailablePermits)
+                        .tag("pool", beanName)
+                        .register(registry);
+                Gauge.builder("jdbc.concurrency.waiting", limited, ConcurrencyLimitingDataSource::getQueueLength)
+                        .tag("pool", beanName)
+                        .register(registry);
+            });
+            return limited;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.epam.controller;
+
+import com.epam.dto.TokenRequestDTO;
+import com.epam.dto.TokenResponseDTO;
+import com.epam.service.AuthService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/auth")
+@RequiredArgsConstructor
+public class AuthController {
+
+    private final AuthService authService;
+
+    @PostMapping("/token")
+    public ResponseEntity<TokenResponseDTO> issueToken(@Valid @RequestBody TokenRequestDTO dto) {
+        return authService.issueToken(dto);
+    }
+}
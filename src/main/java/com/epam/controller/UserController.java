@@ -1,14 +1,21 @@
 package com.epam.controller;
 
+import com.epam.dto.UserBulkFilterDTO;
+import com.epam.dto.UserBulkUpdateDTO;
 import com.epam.dto.UserCreateDTO;
 import com.epam.dto.UserDTO;
+import com.epam.dto.UserListFilterDTO;
+import com.epam.dto.UserLookupDTO;
 import com.epam.dto.UserUpdateDTO;
 import com.epam.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -24,8 +31,49 @@ public class UserController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String direction) {
-        return userService.getAll(page, size, sortBy, direction);
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "exact") String count,
+            @Valid UserListFilterDTO filter) {
+        if (cursor != null) {
+            return userService.getAllByCursor(cursor, size, sortBy, direction, filter);
+        }
+        return userService.getAll(page, size, sortBy, direction, count, filter);
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<Map<String, Object>> getByIds(@RequestParam List<Long> ids) {
+        return userService.lookup(new UserLookupDTO(ids));
+    }
+
+    @PostMapping("/lookup")
+    public ResponseEntity<Map<String, Object>> lookup(@Valid @RequestBody UserLookupDTO dto) {
+        return userService.lookup(dto);
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<Map<String, Object>> getChanges(@RequestParam(required = false) String since,
+                                                          @RequestParam(defaultValue = "500") int limit) {
+        return userService.getChanges(since, limit);
+    }
+
+    @GetMapping("/availability")
+    public ResponseEntity<Map<String, Object>> checkAvailability(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String email) {
+        return userService.checkAvailability(username, email);
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<Map<String, Object>> suggest(@RequestParam String q,
+                                                       @RequestParam(defaultValue = "10") int limit) {
+        return userService.suggest(q, limit);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return userService.export(acceptEncoding);
     }
 
     @GetMapping("/{id}")
@@ -38,6 +86,11 @@ public class UserController {
         return userService.create(dto);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Map<String, Object>> createBatch(@RequestBody List<UserCreateDTO> dtos) {
+        return userService.createBatch(dtos);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<UserDTO> update(@PathVariable Long id, @Valid @RequestBody UserUpdateDTO dto) {
         return userService.update(id, dto);
@@ -48,4 +101,14 @@ public class UserController {
         return userService.delete(id);
     }
 
+    @PostMapping("/bulk/deactivate")
+    public ResponseEntity<Map<String, Object>> bulkDeactivate(@Valid @RequestBody UserBulkFilterDTO filter) {
+        return userService.bulkDeactivate(filter);
+    }
+
+    @PostMapping("/bulk/update")
+    public ResponseEntity<Map<String, Object>> bulkUpdate(@Valid @RequestBody UserBulkUpdateDTO dto) {
+        return userService.bulkUpdate(dto);
+    }
+
 }
@@ -0,0 +1,44 @@
+package com.epam.controller;
+
+import com.epam.dto.ImportJobDTO;
+import com.epam.service.UserImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/v1/users/import")
+@RequiredArgsConstructor
+public class UserImportController {
+
+    private final UserImportService userImportService;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportJobDTO> importFile(@RequestPart("file") MultipartFile file,
+                                                   @RequestParam(required = false) String format) {
+        return userImportService.startImport(file, format);
+    }
+
+    @PostMapping(consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<ImportJobDTO> importStream(InputStream body,
+                                                     @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                     @RequestParam(required = false) String format) {
+        return userImportService.startImport(body, contentType, format);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportJobDTO> getJob(@PathVariable String id) {
+        return userImportService.getJob(id);
+    }
+
+    @GetMapping("/{id}/errors")
+    public ResponseEntity<Resource> getErrors(@PathVariable String id) {
+        return userImportService.getErrors(id);
+    }
+}
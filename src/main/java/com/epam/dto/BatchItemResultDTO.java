@@ -0,0 +1,29 @@
+package com.epam.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResultDTO {
+    private int index;
+    private Status status;
+    private UserDTO user;
+    private String message;
+
+    public enum Status {
+        CREATED,
+        INVALID,
+        CONFLICT
+    }
+
+    public static BatchItemResultDTO created(int index, UserDTO user) {
+        return new BatchItemResultDTO(index, Status.CREATED, user, null);
+    }
+
+    public static BatchItemResultDTO failed(int index, Status status, String message) {
+        return new BatchItemResultDTO(index, status, null, message);
+    }
+}
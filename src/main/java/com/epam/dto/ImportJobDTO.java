@@ -0,0 +1,32 @@
+package com.epam.dto;
+
+import com.epam.common.ImportFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobDTO {
+    private String id;
+    private Status status;
+    private ImportFormat format;
+    private long processed;
+    private long created;
+    private long failed;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private boolean errorFileAvailable;
+    private String message;
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -0,0 +1,14 @@
+package com.epam.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenResponseDTO {
+    private String accessToken;
+    private String tokenType;
+    private long expiresIn;
+}
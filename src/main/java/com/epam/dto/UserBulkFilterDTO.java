@@ -0,0 +1,26 @@
+package com.epam.dto;
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBulkFilterDTO {
+    @Size(max = 10000, message = "No more than 10000 ids can be given")
+    private List<Long> ids;
+
+    @Size(max = 100, message = "Email domain must not exceed 100 characters")
+    private String emailDomain;
+
+    private Boolean active;
+
+    private LocalDateTime createdAfter;
+
+    private LocalDateTime createdBefore;
+}
@@ -0,0 +1,4 @@
+package com.epam.dto;
+
+public record UserIdentityView(String username, String email) {
+}
@@ -0,0 +1,16 @@
+package com.epam.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserLookupDTO {
+    @NotEmpty(message = "At least one id is required")
+    private List<Long> ids;
+}
@@ -0,0 +1,4 @@
+package com.epam.dto;
+
+public record UserSuggestion(Long id, String username, String firstName, String lastName) {
+}
@@ -0,0 +1,17 @@
+package com.epam.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only row of the users list, built by the query itself from the exposed columns only.
+ * Serializes to the same JSON as {@link UserDTO}.
+ */
+public record UserView(Long id,
+                       String username,
+                       String email,
+                       String firstName,
+                       String lastName,
+                       boolean active,
+                       LocalDateTime createdAt,
+                       LocalDateTime updatedAt) {
+}
@@ -1,8 +1,10 @@
 package com.epam.exception_handler;
 
 import com.epam.common.ErrorResponse;
+import com.epam.exceptions.InvalidRequestException;
 import com.epam.exceptions.ResourceAlreadyExistsException;
 import com.epam.exceptions.ResourceNotFoundException;
+import com.epam.exceptions.ServiceBusyException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
@@ -11,6 +13,7 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -74,6 +77,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler({
             BadRequestException.class,
+            InvalidRequestException.class,
             MethodArgumentTypeMismatchException.class,
             MissingServletRequestParameterException.class,
             HttpMessageNotReadableException.class
@@ -109,6 +113,15 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(ex, "Data Integrity Violation", HttpStatus.CONFLICT, request, message);
     }
 
+    @ExceptionHandler(AuthenticationException.class)
+    @ResponseStatus(HttpStatus.UNAUTHORIZED)
+    public ResponseEntity<ErrorResponse> handleAuthenticationException(
+            AuthenticationException ex, HttpServletRequest request) {
+
+        return buildErrorResponse(ex, "Unauthorized", HttpStatus.UNAUTHORIZED, request,
+                "Invalid username or password");
+    }
+
     @ExceptionHandler(NoHandlerFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ResponseEntity<ErrorResponse> handleNoHandlerFoundException(
@@ -171,6 +184,15 @@ public class GlobalExceptionHandler {
                 ex.getMessage());
     }
 
+    @ExceptionHandler(ServiceBusyException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ResponseEntity<ErrorResponse> handleServiceBusyException(
+            ServiceBusyException ex, HttpServletRequest request) {
+
+        return buildErrorResponse(ex, "Service Unavailable", HttpStatus.SERVICE_UNAVAILABLE, request,
+                ex.getMessage());
+    }
+
     private ResponseEntity<ErrorResponse> buildErrorResponse(
             Exception exception, String error, HttpStatus status, HttpServletRequest request) {
         return buildErrorResponse(exception, error, status, request, exception.getMessage());
@@ -0,0 +1,7 @@
+package com.epam.exceptions;
+
+public class ServiceBusyException extends RuntimeException {
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
@@ -1,11 +1,16 @@
 package com.epam.model;
 
+import com.epam.common.ShardAwareSequence;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.LocalDateTime;
 
@@ -13,17 +18,24 @@ import java.time.LocalDateTime;
 @Setter
 @ToString
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
 @Table(name = "users",
         uniqueConstraints = {
-                @UniqueConstraint(columnNames = "username"),
-                @UniqueConstraint(columnNames = "email")
+                @UniqueConstraint(name = User.USERNAME_CONSTRAINT, columnNames = "username"),
+                @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email")
         })
 public class User {
 
+    public static final String USERNAME_CONSTRAINT = "uk_users_username";
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @ShardAwareSequence(name = "users_seq", incrementSize = 50)
     private Long id;
 
+    @NaturalId(mutable = true)
     @Size(max = 50)
     @Column(nullable = false)
     private String username;
@@ -49,5 +61,6 @@ public class User {
     @Column(updatable = false)
     private LocalDateTime createdAt;
 
+    @Column(nullable = false)
     private LocalDateTime updatedAt;
 }
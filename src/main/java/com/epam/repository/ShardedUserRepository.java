@@ -0,0 +1,495 @@
+package com.epam.repository;
+
+import com.epam.common.ShardContext;
+import com.epam.common.SortedMerge;
+import com.epam.common.UserSortField;
+import com.epam.dto.UserIdentityView;
+import com.epam.dto.UserView;
+import com.epam.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link UserStore} over several shards. It runs the Spring Data repository on one shard at
+ * a time, selecting the shard through {@link ShardContext}:
+ * <ul>
+ *     <li>calls by id go to the shard owning the id, and lookups by username or email ask the
+ *     {@link UserDirectory} for the id first, so both stay single-shard;</li>
+ *     <li>new users go round-robin to the shards, and every user's username and email are
+ *     registered in the directory;</li>
+ *     <li>calls over many ids run once per shard involved, and everything else on every shard, in
+ *     parallel and each in its own transaction; list queries are merged in the requested order.</li>
+ * </ul>
+ * A transaction is tied to one shard: the first single-shard call inside it picks the shard, and a
+ * call for another one fails rather than reading the wrong database. Offset pages need the first
+ * {@code offset + size} rows of every shard, so deep pages cost more than with one database;
+ * cursor pages do not. String sort keys are merged in Java's natural order, which matches the
+ * database order only under the {@code C} collation. Directory writes commit on shard 0, through
+ * the directory's own pool, before the shard transaction and are undone if it rolls back; an
+ * entry whose undo fails, or whose JVM dies in between, stays behind until
+ * {@link UserDirectoryRepair} reconciles it. Only the {@link UserStore} operations have a sharded
+ * form; the rest of {@link UserRepository} still reaches shard 0 alone.
+ */
+@Slf4j
+public class ShardedUserRepository implements UserStore {
+
+    private static final Specification<User> ALL = (root, query, cb) -> null;
+    private static final String ID = "id";
+
+    private final UserRepository shardRepository;
+    private final UserDirectory directory;
+    private final EntityManagerFactory entityManagerFactory;
+    private final int shardCount;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate ownReadTransaction;
+    private final AtomicInteger nextShard = new AtomicInteger();
+
+    public ShardedUserRepository(UserRepository shardRepository, UserDirectory directory, int shardCount,
+                                 EntityManagerFactory entityManagerFactory,
+                                 PlatformTransactionManager transactionManager) {
+        this.shardRepository = shardRepository;
+        this.directory = directory;
+        this.shardCount = shardCount;
+        this.entityManagerFactory = entityManagerFactory;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.ownReadTransaction = new TransactionTemplate(transactionManager);
+        this.ownReadTransaction.setReadOnly(true);
+        this.ownReadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public Optional<User> findById(Long id) {
+        return onShard(shardOf(id), () -> shardRepository.findById(id));
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return findById(id).isPresent();
+    }
+
+    @Override
+    public Optional<User> findByUsername(String username) {
+        return directory.findIdByUsername(username)
+                .flatMap(id -> onShard(shardOf(id), () -> shardRepository.findByUsername(username)));
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return directory.findIdByEmail(email)
+                .flatMap(id -> onShard(shardOf(id), () -> shardRepository.findByEmail(email)));
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return directory.findIdByEmail(email).isPresent();
+    }
+
+    @Override
+    public List<UserIdentityView> findIdentities(Collection<String> usernames, Collection<String> emails) {
+        return directory.findIdentities(usernames, emails);
+    }
+
+    @Override
+    public List<User> findAllByIdOrdered(List<Long> ids) {
+        Map<Integer, List<Long>> byShard = groupByShard(ids);
+        Map<Long, User> found = new HashMap<>();
+        onShards(byShard.keySet(), readTransaction, shard -> shardRepository.findAllByIdOrdered(byShard.get(shard)))
+                .forEach(users -> users.stream()
+                        .filter(user -> user != null)
+                        .forEach(user -> found.put(user.getId(), user)));
+        return ids.stream().map(found::get).toList();
+    }
+
+    @Override
+    public List<String> findActiveUsernamesByIds(Collection<Long> ids) {
+        Map<Integer, List<Long>> byShard = groupByShard(ids);
+        return onShards(byShard.keySet(), readTransaction,
+                shard -> shardRepository.findActiveUsernamesByIds(byShard.get(shard)))
+                .stream().flatMap(List::stream).toList();
+    }
+
+    @Override
+    public int deactivateByIds(Collection<Long> ids, LocalDateTime now) {
+        Map<Integer, List<Long>> byShard = groupByShard(ids);
+        return onShards(byShard.keySet(), writeTransaction,
+                shard -> shardRepository.deactivateByIds(byShard.get(shard), now))
+                .stream().mapToInt(Integer::intValue).sum();
+    }
+
+    @Override
+    public Slice<UserView> findViewSlice(Pageable pageable) {
+        return findViewSlice(ALL, pageable);
+    }
+
+    @Override
+    public Slice<UserView> findViewSlice(Specification<User> specification, Pageable pageable) {
+        int offset = Math.toIntExact(pageable.getOffset());
+        List<UserView> rows = findViews(specification, pageable.getSort(), offset + pageable.getPageSize() + 1);
+        boolean hasNext = rows.size() > offset + pageable.getPageSize();
+        List<UserView> content = rows.subList(Math.min(offset, rows.size()),
+                Math.min(offset + pageable.getPageSize(), rows.size()));
+        return new SliceImpl<>(List.copyOf(content), pageable, hasNext);
+    }
+
+    @Override
+    public Page<UserView> findAllViews(Pageable pageable) {
+        return findViewPage(ALL, pageable);
+    }
+
+    @Override
+    public Page<UserView> findViewPage(Specification<User> specification, Pageable pageable) {
+        int offset = Math.toIntExact(pageable.getOffset());
+        List<UserView> rows = findViews(specification, pageable.getSort(), offset + pageable.getPageSize());
+        List<UserView> content = List.copyOf(rows.subList(Math.min(offset, rows.size()), rows.size()));
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(specification));
+    }
+
+    /**
+     * The first {@code limit} matching rows across all shards: every shard returns its own first
+     * {@code limit}, and the merge keeps the overall first ones.
+     */
+    @Override
+    public List<UserView> findViews(Specification<User> specification, Sort sort, int limit) {
+        Sort order = sort.getOrderFor(ID) == null ? sort.and(Sort.by(ID)) : sort;
+        List<List<UserView>> perShard = onShards(allShards(), readTransaction,
+                shard -> shardRepository.findViews(specification, order, limit));
+        return SortedMerge.merge(perShard, viewOrder(order), limit);
+    }
+
+    @Override
+    public long count() {
+        return count(ALL);
+    }
+
+    @Override
+    public long count(Specification<User> specification) {
+        return onShards(allShards(), readTransaction, shard -> shardRepository.count(specification))
+                .stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Sum of the shards' planner estimates, or the first unusable estimate if any shard has none.
+     */
+    @Override
+    public Long estimateCount() {
+        long total = 0;
+        for (Long estimate : onShards(allShards(), readTransaction, shard -> shardRepository.estimateCount())) {
+            if (estimate == null || estimate < 0) {
+                return estimate;
+            }
+            total += estimate;
+        }
+        return total;
+    }
+
+    @Override
+    public List<String> findUsernames(Specification<User> specification) {
+        return onShards(allShards(), readTransaction, shard -> shardRepository.findUsernames(specification))
+                .stream().flatMap(List::stream).toList();
+    }
+
+    @Override
+    public int updateMatching(Specification<User> specification, Map<String, Object> assignments) {
+        return onShards(allShards(), writeTransaction,
+                shard -> shardRepository.updateMatching(specification, assignments))
+                .stream().mapToInt(Integer::intValue).sum();
+    }
+
+    @Override
+    public void forEachIdentity(Consumer<UserIdentityView> action) {
+        forEachShard(() -> shardRepository.forEachIdentity(action));
+    }
+
+    @Override
+    public void forEachView(Consumer<UserView> action) {
+        forEachShard(() -> shardRepository.forEachView(action));
+    }
+
+    /**
+     * Runs a streaming read on each shard in turn, on the calling thread and in a transaction of
+     * its own, so rows arrive shard by shard.
+     */
+    private void forEachShard(Runnable read) {
+        for (int shard = 0; shard < shardCount; shard++) {
+            ShardContext.callOn(shard, () -> ownReadTransaction.execute(status -> {
+                read.run();
+                return null;
+            }));
+        }
+    }
+
+    /**
+     * Merges one cursor per shard by id. Each cursor has its own entity manager and transaction,
+     * which closing the returned stream ends; rows are detached as they are read.
+     */
+    @Override
+    public Stream<User> streamAllOrderedById() {
+        List<Stream<User>> cursors = new ArrayList<>(shardCount);
+        try {
+            for (int shard = 0; shard < shardCount; shard++) {
+                cursors.add(openCursor(shard));
+            }
+        } catch (RuntimeException e) {
+            cursors.forEach(Stream::close);
+            throw e;
+        }
+        Iterator<User> merged = SortedMerge.merge(cursors.stream().map(Stream::iterator).toList(),
+                Comparator.comparing(User::getId));
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged,
+                        Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> cursors.forEach(Stream::close));
+    }
+
+    private Stream<User> openCursor(int shard) {
+        return ShardContext.callOn(shard, () -> {
+            EntityManager entityManager = entityManagerFactory.createEntityManager();
+            try {
+                entityManager.getTransaction().begin();
+                return entityManager.createQuery("select u from User u order by u.id", User.class)
+                        .setHint(AvailableHints.HINT_FETCH_SIZE, 1000)
+                        .setHint(AvailableHints.HINT_READ_ONLY, true)
+                        .setHint(AvailableHints.HINT_CACHE_MODE, CacheMode.IGNORE)
+                        .getResultStream()
+                        .peek(entityManager::detach)
+                        .onClose(() -> close(entityManager));
+            } catch (RuntimeException e) {
+                close(entityManager);
+                throw e;
+            }
+        });
+    }
+
+    private static void close(EntityManager entityManager) {
+        try {
+            if (entityManager.getTransaction().isActive()) {
+                entityManager.getTransaction().rollback();
+            }
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @Override
+    public <S extends User> S save(S user) {
+        return save(List.of(user), false).get(0);
+    }
+
+    @Override
+    public <S extends User> S saveAndFlush(S user) {
+        return save(List.of(user), true).get(0);
+    }
+
+    @Override
+    public <S extends User> List<S> saveAll(Iterable<S> users) {
+        return save(toList(users), false);
+    }
+
+    @Override
+    public <S extends User> List<S> saveAllAndFlush(Iterable<S> users) {
+        return save(toList(users), true);
+    }
+
+    @Override
+    public void flush() {
+        shardRepository.flush();
+    }
+
+    /**
+     * Saves users that all live on one shard: new ones are placed on the transaction's shard, or
+     * the next shard in turn, and registered in the directory; for existing ones a changed
+     * username or email is moved in the directory. Directory writes are undone if the
+     * transaction rolls back.
+     */
+    private <S extends User> List<S> save(List<S> users, boolean flush) {
+        if (users.isEmpty()) {
+            return users;
+        }
+        int shard = users.get(0).getId() == null ? placementShard() : shardOf(users.get(0).getId());
+        for (S user : users) {
+            if (user.getId() != null && shardOf(user.getId()) != shard) {
+                throw new IllegalArgumentException("Users saved together must live on the same shard");
+            }
+        }
+
+        return writeTransaction.execute(status -> {
+            List<S> created = users.stream().filter(user -> user.getId() == null).toList();
+            List<S> existing = users.stream().filter(user -> user.getId() != null).toList();
+
+            List<S> saved = onShard(shard, () -> flush
+                    ? shardRepository.saveAllAndFlush(users)
+                    : shardRepository.saveAll(users));
+
+            if (!created.isEmpty()) {
+                List<Long> ids = created.stream().map(User::getId).toList();
+                undoOnRollback(() -> directory.remove(ids));
+                directory.register(List.copyOf(created));
+            }
+            for (S user : existing) {
+                directory.findIdentity(user.getId())
+                        .filter(previous -> !previous.username().equals(user.getUsername())
+                                || !previous.email().equals(user.getEmail()))
+                        .ifPresent(previous -> {
+                            undoOnRollback(() -> directory.update(user.getId(), previous.username(),
+                                    previous.email()));
+                            directory.update(user.getId(), user.getUsername(), user.getEmail());
+                        });
+            }
+            return saved;
+        });
+    }
+
+    private int placementShard() {
+        Integer bound = ShardContext.transactionShard();
+        return bound != null ? bound : Math.floorMod(nextShard.getAndIncrement(), shardCount);
+    }
+
+    /**
+     * Runs a single-shard call on the calling thread, tying the surrounding transaction, if any,
+     * to that shard.
+     */
+    private <T> T onShard(int shard, Supplier<T> call) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            Integer bound = ShardContext.transactionShard();
+            if (bound == null) {
+                ShardContext.bindTransaction(shard);
+            } else if (bound != shard) {
+                throw new IllegalStateException("The transaction is bound to shard " + bound
+                        + " and cannot use shard " + shard);
+            }
+        }
+        return ShardContext.callOn(shard, call);
+    }
+
+    /**
+     * Runs {@code call} once per shard in parallel, each on its own thread and in its own
+     * transaction, and returns the results in shard order.
+     */
+    private <T> List<T> onShards(Collection<Integer> shards, TransactionTemplate transaction, IntFunction<T> call) {
+        List<T> results = new ArrayList<>(shards.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<T>> futures = shards.stream()
+                    .map(shard -> executor.submit(() -> ShardContext.callOn(shard,
+                            () -> transaction.execute(status -> call.apply(shard)))))
+                    .toList();
+            for (Future<T> future : futures) {
+                results.add(await(future));
+            }
+        }
+        return results;
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new CompletionException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    private void undoOnRollback(Runnable undo) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    try {
+                        undo.run();
+                    } catch (RuntimeException e) {
+                        log.warn("Failed to undo a user directory change after rollback, left to the directory "
+                                + "repair: {}", e.getMessage());
+                    }
+                }
+            }
+        });
+    }
+
+    private int shardOf(long id) {
+        return ShardContext.shardOf(id, shardCount);
+    }
+
+    private List<Integer> allShards() {
+        return IntStream.range(0, shardCount).boxed().toList();
+    }
+
+    private Map<Integer, List<Long>> groupByShard(Collection<Long> ids) {
+        return ids.stream().collect(Collectors.groupingBy(this::shardOf, TreeMap::new, Collectors.toList()));
+    }
+
+    private static <S extends User> List<S> toList(Iterable<S> users) {
+        List<S> list = new ArrayList<>();
+        users.forEach(list::add);
+        return list;
+    }
+
+    /**
+     * In-memory equivalent of the shards' ORDER BY, with nulls sorted as Postgres does: as the
+     * largest value.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparator<UserView> viewOrder(Sort sort) {
+        Comparator<UserView> order = null;
+        for (Sort.Order sortOrder : sort) {
+            UserSortField field = UserSortField.fromProperty(sortOrder.getProperty());
+            Comparator<UserView> byField = Comparator.comparing(view -> (Comparable) field.valueOf(view),
+                    Comparator.nullsLast(Comparator.naturalOrder()));
+            if (sortOrder.isDescending()) {
+                byField = byField.reversed();
+            }
+            order = order == null ? byField : order.thenComparing(byField);
+        }
+        return order;
+    }
+}
@@ -0,0 +1,173 @@
+package com.epam.repository;
+
+import com.epam.dto.UserIdentityView;
+import com.epam.model.User;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Global username and email index of a sharded deployment, kept in {@code user_directory} on
+ * shard 0. It maps both keys to the user id (and so to the shard, see
+ * {@link com.epam.common.ShardContext#shardOf}) and enforces their uniqueness across shards.
+ * Writes run outside the caller's transaction; {@link ShardedUserRepository} undoes them if that
+ * transaction rolls back, and {@link UserDirectoryRepair} fixes the entries an undo missed.
+ * The directory owns its connection pool and closes it with {@link #close()}.
+ */
+public class UserDirectory implements AutoCloseable {
+
+    private static final String USERNAME_CONSTRAINT = "uk_user_directory_username";
+    private static final String EMAIL_CONSTRAINT = "uk_user_directory_email";
+
+    private final DataSource pool;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public UserDirectory(DataSource pool) {
+        this.pool = pool;
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(pool);
+    }
+
+    public Optional<Long> findIdByUsername(String username) {
+        return jdbcTemplate.queryForList("select id from user_directory where username = :username",
+                new MapSqlParameterSource("username", username), Long.class).stream().findFirst();
+    }
+
+    public Optional<Long> findIdByEmail(String email) {
+        return jdbcTemplate.queryForList("select id from user_directory where email = :email",
+                new MapSqlParameterSource("email", email), Long.class).stream().findFirst();
+    }
+
+    public Optional<UserIdentityView> findIdentity(long id) {
+        return jdbcTemplate.query("select username, email from user_directory where id = :id",
+                new MapSqlParameterSource("id", id),
+                (row, index) -> new UserIdentityView(row.getString("username"), row.getString("email")))
+                .stream().findFirst();
+    }
+
+    public List<UserIdentityView> findIdentities(Collection<String> usernames, Collection<String> emails) {
+        if (usernames.isEmpty() && emails.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query("select username, email from user_directory " +
+                        "where username = any(:usernames) or email = any(:emails)",
+                new MapSqlParameterSource()
+                        .addValue("usernames", usernames.toArray(String[]::new))
+                        .addValue("emails", emails.toArray(String[]::new)),
+                (row, index) -> new UserIdentityView(row.getString("username"), row.getString("email")));
+    }
+
+    /**
+     * Registers new users, failing as their own unique constraints would if a username or email is
+     * taken on any shard.
+     */
+    public void register(List<User> users) {
+        MapSqlParameterSource[] rows = users.stream()
+                .map(user -> new MapSqlParameterSource()
+                        .addValue("id", user.getId())
+                        .addValue("username", user.getUsername())
+                        .addValue("email", user.getEmail()))
+                .toArray(MapSqlParameterSource[]::new);
+        try {
+            jdbcTemplate.batchUpdate("insert into user_directory (id, username, email) " +
+                    "values (:id, :username, :email)", rows);
+        } catch (DuplicateKeyException e) {
+            throw asUserConstraintViolation(e);
+        }
+    }
+
+    public void update(long id, String username, String email) {
+        try {
+            jdbcTemplate.update("update user_directory set username = :username, email = :email, " +
+                            "changed_at = now() where id = :id",
+                    new MapSqlParameterSource()
+                            .addValue("id", id)
+                            .addValue("username", username)
+                            .addValue("email", email));
+        } catch (DuplicateKeyException e) {
+            throw asUserConstraintViolation(e);
+        }
+    }
+
+    public void remove(Collection<Long> ids) {
+        jdbcTemplate.update("delete from user_directory where id = any(:ids)",
+                new MapSqlParameterSource("ids", ids.toArray(Long[]::new)));
+    }
+
+    /**
+     * Returns up to {@code limit} entries with an id above {@code afterId}, in id order, that have
+     * not changed for at least {@code settled}.
+     */
+    public List<Entry> findSettled(long afterId, Duration settled, int limit) {
+        return jdbcTemplate.query("select id, username, email from user_directory " +
+                        "where id > :afterId and changed_at < now() - make_interval(secs => :settled) " +
+                        "order by id limit :limit",
+                new MapSqlParameterSource()
+                        .addValue("afterId", afterId)
+                        .addValue("settled", settled.toMillis() / 1000.0)
+                        .addValue("limit", limit),
+                (row, index) -> new Entry(row.getLong("id"), row.getString("username"), row.getString("email")));
+    }
+
+    /**
+     * Overwrites an entry with the user's actual username and email unless it changed within
+     * {@code settled}; returns whether it did.
+     */
+    public boolean repair(long id, String username, String email, Duration settled) {
+        try {
+            return jdbcTemplate.update("update user_directory set username = :username, email = :email, " +
+                            "changed_at = now() where id = :id and changed_at < now() - make_interval(secs => :settled)",
+                    new MapSqlParameterSource()
+                            .addValue("id", id)
+                            .addValue("username", username)
+                            .addValue("email", email)
+                            .addValue("settled", settled.toMillis() / 1000.0)) > 0;
+        } catch (DuplicateKeyException e) {
+            throw asUserConstraintViolation(e);
+        }
+    }
+
+    /**
+     * Removes an entry unless it changed within {@code settled}; returns whether it did.
+     */
+    public boolean removeSettled(long id, Duration settled) {
+        return jdbcTemplate.update("delete from user_directory " +
+                        "where id = :id and changed_at < now() - make_interval(secs => :settled)",
+                new MapSqlParameterSource()
+                        .addValue("id", id)
+                        .addValue("settled", settled.toMillis() / 1000.0)) > 0;
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (pool instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    /**
+     * Reports a directory conflict under the matching constraint of the users table, so callers
+     * translate it exactly like a conflict raised by the insert itself.
+     */
+    private static DataIntegrityViolationException asUserConstraintViolation(DuplicateKeyException e) {
+        String message = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+        String constraint = message.contains(USERNAME_CONSTRAINT) ? User.USERNAME_CONSTRAINT
+                : message.contains(EMAIL_CONSTRAINT) ? User.EMAIL_CONSTRAINT
+                : null;
+        SQLException cause = e.getMostSpecificCause() instanceof SQLException sql ? sql : null;
+        return new DataIntegrityViolationException(e.getMessage(),
+                new ConstraintViolationException(e.getMessage(), cause, constraint));
+    }
+
+    public record Entry(long id, String username, String email) {
+    }
+}
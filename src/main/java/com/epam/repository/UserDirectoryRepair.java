@@ -0,0 +1,124 @@
+package com.epam.repository;
+
+import com.epam.common.ShardContext;
+import com.epam.dto.UserIdentityView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Reconciles the {@link UserDirectory} with the shards. Directory writes commit before the shard
+ * transaction they belong to, and {@link ShardedUserRepository} undoes them on rollback; if that
+ * undo fails, or the JVM dies before the shard transaction ends, the directory keeps an entry
+ * for a user that does not exist or under a username or email the user no longer has, which
+ * blocks those values for everyone else. Each run checks the next batch of directory entries
+ * against the users table of their shard, removes entries without a user and rewrites those
+ * whose username or email differ; successive runs walk the whole directory and then start over.
+ * Entries that changed within the grace period are skipped, so it must be longer than any user
+ * transaction. A user that exists without a directory entry is not detected.
+ */
+@Slf4j
+public class UserDirectoryRepair {
+
+    private final UserDirectory directory;
+    private final List<JdbcTemplate> shards;
+    private final Duration grace;
+    private final int batchSize;
+
+    // Only advanced by the scheduler thread.
+    private long cursor = Long.MIN_VALUE;
+
+    public UserDirectoryRepair(UserDirectory directory, List<DataSource> shards, Duration grace, int batchSize) {
+        this.directory = directory;
+        this.shards = shards.stream().map(JdbcTemplate::new).toList();
+        this.grace = grace;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Checks the batch after the previous run's, or the first one once the directory is done.
+     * Returns the number of entries repaired.
+     */
+    @Scheduled(fixedDelayString = "${app.sharding.directory-repair.interval:1m}")
+    public int repairNextBatch() {
+        List<UserDirectory.Entry> entries = directory.findSettled(cursor, grace, batchSize);
+        int repaired = repair(entries);
+        cursor = entries.size() < batchSize ? Long.MIN_VALUE : entries.get(entries.size() - 1).id();
+        return repaired;
+    }
+
+    /**
+     * Checks the whole directory at once, e.g. after an outage. Returns the number of entries
+     * repaired.
+     */
+    public int repairAll() {
+        int repaired = 0;
+        long afterId = Long.MIN_VALUE;
+        List<UserDirectory.Entry> entries;
+        do {
+            entries = directory.findSettled(afterId, grace, batchSize);
+            repaired += repair(entries);
+            if (!entries.isEmpty()) {
+                afterId = entries.get(entries.size() - 1).id();
+            }
+        } while (entries.size() == batchSize);
+        return repaired;
+    }
+
+    private int repair(List<UserDirectory.Entry> entries) {
+        Map<Integer, List<UserDirectory.Entry>> byShard = entries.stream()
+                .collect(Collectors.groupingBy(entry -> ShardContext.shardOf(entry.id(), shards.size())));
+        int repaired = 0;
+        for (Map.Entry<Integer, List<UserDirectory.Entry>> shard : byShard.entrySet()) {
+            Map<Long, UserIdentityView> users = findUsers(shard.getKey(), shard.getValue());
+            for (UserDirectory.Entry entry : shard.getValue()) {
+                if (repair(entry, users.get(entry.id()))) {
+                    repaired++;
+                }
+            }
+        }
+        return repaired;
+    }
+
+    private boolean repair(UserDirectory.Entry entry, UserIdentityView user) {
+        try {
+            if (user == null) {
+                boolean removed = directory.removeSettled(entry.id(), grace);
+                if (removed) {
+                    log.warn("Removed user directory entry {} ({}) without a user", entry.id(), entry.username());
+                }
+                return removed;
+            }
+            if (user.username().equals(entry.username()) && user.email().equals(entry.email())) {
+                return false;
+            }
+            boolean rewritten = directory.repair(entry.id(), user.username(), user.email(), grace);
+            if (rewritten) {
+                log.warn("Rewrote user directory entry {} from {} to {}", entry.id(), entry.username(), user.username());
+            }
+            return rewritten;
+        } catch (DataAccessException e) {
+            log.warn("Failed to repair user directory entry {}: {}", entry.id(), e.getMessage());
+            return false;
+        }
+    }
+
+    private Map<Long, UserIdentityView> findUsers(int shard, List<UserDirectory.Entry> entries) {
+        Long[] ids = entries.stream().map(UserDirectory.Entry::id).toArray(Long[]::new);
+        Map<Long, UserIdentityView> users = new HashMap<>();
+        shards.get(shard).query("select id, username, email from users where id = any(?)",
+                (RowCallbackHandler) row -> users.put(row.getLong("id"),
+                        new UserIdentityView(row.getString("username"), row.getString("email"))),
+                (Object) ids);
+        return users;
+    }
+}
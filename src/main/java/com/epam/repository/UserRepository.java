@@ -1,13 +1,79 @@
 package com.epam.repository;
 
+import com.epam.dto.UserIdentityView;
+import com.epam.dto.UserView;
 import com.epam.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface UserRepository extends JpaRepository<User, Long> {
+/**
+ * The Spring Data repository of a single database. Services use it through {@link UserStore}.
+ */
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User>,
+        UserRepositoryCustom, UserStore {
 
-    Optional<User> findByUsername(String username);
+    String SELECT_VIEW = "select new com.epam.dto.UserView(u.id, u.username, u.email, u.firstName, u.lastName, " +
+            "u.active, u.createdAt, u.updatedAt) from User u";
 
+    // Redeclared so calls through this interface are not ambiguous between CrudRepository and UserStore.
+    @Override
+    Optional<User> findById(Long id);
+
+    @Override
+    boolean existsById(Long id);
+
+    @Override
+    <S extends User> S save(S user);
+
+    @Override
+    <S extends User> S saveAndFlush(S user);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
+
+    boolean existsByEmail(String email);
+
+    @Query("select new com.epam.dto.UserIdentityView(u.username, u.email) from User u " +
+            "where u.username in :usernames or u.email in :emails")
+    List<UserIdentityView> findIdentities(@Param("usernames") Collection<String> usernames,
+                                          @Param("emails") Collection<String> emails);
+
+    @Query("select u.username from User u where u.id in :ids and u.active = true")
+    List<String> findActiveUsernamesByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update User u set u.active = false, u.updatedAt = :now where u.id in :ids and u.active = true")
+    int deactivateByIds(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Query(value = SELECT_VIEW, countQuery = "select count(u) from User u")
+    Page<UserView> findAllViews(Pageable pageable);
+
+    @Query(SELECT_VIEW)
+    Slice<UserView> findViewSlice(Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("select u from User u order by u.id")
+    Stream<User> streamAllOrderedById();
+
+    @Query(value = "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE oid = to_regclass('users')", nativeQuery = true)
+    Long estimateCount();
 }
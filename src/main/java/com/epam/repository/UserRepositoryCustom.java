@@ -0,0 +1,68 @@
+package com.epam.repository;
+
+import com.epam.dto.UserIdentityView;
+import com.epam.dto.UserView;
+import com.epam.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Resolves the user through its natural id, so repeated lookups are served from the
+     * natural-id and entity caches instead of the database.
+     */
+    Optional<User> findByUsername(String username);
+
+    /**
+     * Loads the users with the given ids, positionally aligned with {@code ids} and {@code null}
+     * for ids that do not exist. Entities already in the persistence context or the second-level
+     * cache are taken from there; the rest are fetched with {@code id = any(?)} in batches.
+     */
+    List<User> findAllByIdOrdered(List<Long> ids);
+
+    /**
+     * Selects the exposed columns of at most {@code limit} matching rows straight into
+     * {@link UserView}, so no entity is instantiated or tracked. A {@code null} specification
+     * matches every row.
+     */
+    List<UserView> findViews(Specification<User> specification, Sort sort, int limit);
+
+    /**
+     * Offset page of matching rows as {@link UserView}, fetching one extra row to tell whether
+     * another page follows instead of counting.
+     */
+    Slice<UserView> findViewSlice(Specification<User> specification, Pageable pageable);
+
+    /**
+     * Offset page of matching rows as {@link UserView}; the count query is skipped when the page
+     * itself shows the total.
+     */
+    Page<UserView> findViewPage(Specification<User> specification, Pageable pageable);
+
+    /**
+     * Streams the username and email of every user through a forward-only cursor.
+     */
+    void forEachIdentity(Consumer<UserIdentityView> action);
+
+    /**
+     * Streams every user as a {@link UserView}, in id order, through a forward-only cursor.
+     */
+    void forEachView(Consumer<UserView> action);
+
+    List<String> findUsernames(Specification<User> specification);
+
+    /**
+     * Applies the given attribute assignments to every matching row in a single
+     * {@code UPDATE ... WHERE} statement, without loading any entity.
+     */
+    int updateMatching(Specification<User> specification, Map<String, Object> assignments);
+}
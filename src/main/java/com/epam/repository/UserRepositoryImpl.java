@@ -0,0 +1,155 @@
+package com.epam.repository;
+
+import com.epam.dto.UserIdentityView;
+import com.epam.dto.UserView;
+import com.epam.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Transactional(readOnly = true)
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    private static final int MULTI_LOAD_BATCH_SIZE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<User> findByUsername(String username) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(username);
+    }
+
+    @Override
+    public List<User> findAllByIdOrdered(List<Long> ids) {
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(User.class)
+                .enableOrderedReturn(true)
+                .withBatchSize(MULTI_LOAD_BATCH_SIZE)
+                .multiLoad(ids);
+    }
+
+    @Override
+    public List<UserView> findViews(Specification<User> specification, Sort sort, int limit) {
+        return entityManager.createQuery(viewQuery(specification, sort))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Slice<UserView> findViewSlice(Specification<User> specification, Pageable pageable) {
+        List<UserView> rows = entityManager.createQuery(viewQuery(specification, pageable.getSort()))
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    @Override
+    public Page<UserView> findViewPage(Specification<User> specification, Pageable pageable) {
+        List<UserView> rows = entityManager.createQuery(viewQuery(specification, pageable.getSort()))
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        return PageableExecutionUtils.getPage(rows, pageable, () -> countMatching(specification));
+    }
+
+    @Override
+    public void forEachIdentity(Consumer<UserIdentityView> action) {
+        try (Stream<UserIdentityView> identities = entityManager
+                .createQuery("select new com.epam.dto.UserIdentityView(u.username, u.email) from User u",
+                        UserIdentityView.class)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, 1000)
+                .getResultStream()) {
+            identities.forEach(action);
+        }
+    }
+
+    @Override
+    public void forEachView(Consumer<UserView> action) {
+        try (Stream<UserView> views = entityManager
+                .createQuery(UserRepository.SELECT_VIEW + " order by u.id", UserView.class)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, 1000)
+                .getResultStream()) {
+            views.forEach(action);
+        }
+    }
+
+    @Override
+    public List<String> findUsernames(Specification<User> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<String> query = cb.createQuery(String.class);
+        Root<User> root = query.from(User.class);
+        query.select(root.get("username")).where(specification.toPredicate(root, query, cb));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    @Transactional
+    public int updateMatching(Specification<User> specification, Map<String, Object> assignments) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<User> update = cb.createCriteriaUpdate(User.class);
+        Root<User> root = update.from(User.class);
+        assignments.forEach(update::set);
+        update.where(specification.toPredicate(root, null, cb));
+
+        entityManager.flush();
+        int affected = entityManager.createQuery(update).executeUpdate();
+        entityManager.clear();
+        return affected;
+    }
+
+    private CriteriaQuery<UserView> viewQuery(Specification<User> specification, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UserView> query = cb.createQuery(UserView.class);
+        Root<User> root = query.from(User.class);
+        query.select(cb.construct(UserView.class,
+                        root.get("id"), root.get("username"), root.get("email"), root.get("firstName"),
+                        root.get("lastName"), root.get("active"), root.get("createdAt"), root.get("updatedAt")))
+                .orderBy(QueryUtils.toOrders(sort, root, cb));
+        Predicate predicate = specification == null ? null : specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return query;
+    }
+
+    private long countMatching(Specification<User> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<User> root = query.from(User.class);
+        query.select(cb.count(root));
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -0,0 +1,59 @@
+package com.epam.repository;
+
+import com.epam.dto.UserIdentityView;
+import com.epam.dto.UserView;
+import com.epam.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * The user operations the services rely on. {@link UserRepository} provides them on a single
+ * database and {@link ShardedUserRepository} across shards, so services depend on this interface
+ * rather than on the full Spring Data repository.
+ */
+public interface UserStore extends UserRepositoryCustom {
+
+    Optional<User> findById(Long id);
+
+    boolean existsById(Long id);
+
+    Optional<User> findByEmail(String email);
+
+    boolean existsByEmail(String email);
+
+    List<UserIdentityView> findIdentities(Collection<String> usernames, Collection<String> emails);
+
+    List<String> findActiveUsernamesByIds(Collection<Long> ids);
+
+    int deactivateByIds(Collection<Long> ids, LocalDateTime now);
+
+    Page<UserView> findAllViews(Pageable pageable);
+
+    Slice<UserView> findViewSlice(Pageable pageable);
+
+    Stream<User> streamAllOrderedById();
+
+    long count();
+
+    long count(Specification<User> specification);
+
+    Long estimateCount();
+
+    <S extends User> S save(S user);
+
+    <S extends User> S saveAndFlush(S user);
+
+    <S extends User> List<S> saveAll(Iterable<S> users);
+
+    <S extends User> List<S> saveAllAndFlush(Iterable<S> users);
+
+    void flush();
+}
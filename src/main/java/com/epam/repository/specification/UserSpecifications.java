@@ -0,0 +1,139 @@
+package com.epam.repository.specification;
+
+import com.epam.common.KeysetCursor;
+import com.epam.common.UserSortField;
+import com.epam.dto.UserBulkFilterDTO;
+import com.epam.dto.UserListFilterDTO;
+import com.epam.model.User;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public final class UserSpecifications {
+
+    private static final String ID = "id";
+    private static final char LIKE_ESCAPE = '\\';
+    private static final List<String> SEARCHABLE = List.of("username", "email", "firstName", "lastName");
+
+    private UserSpecifications() {
+    }
+
+    /**
+     * Sort order used by keyset pagination: the requested key, then {@code id} as a unique
+     * tie-breaker in the same direction. Nulls are placed as Postgres does by default, i.e. as
+     * the largest value (last when ascending, first when descending), which {@link #after} relies on.
+     */
+    public static Sort keysetSort(UserSortField sortField, Sort.Direction direction) {
+        if (sortField == UserSortField.ID) {
+            return Sort.by(direction, ID);
+        }
+        return Sort.by(new Sort.Order(direction, sortField.getProperty()), new Sort.Order(direction, ID));
+    }
+
+    /**
+     * Seeks past the cursor row, i.e. {@code (key, id) > (lastKey, lastId)} for ascending order.
+     * The redundant {@code key >= lastKey} conjunct lets the planner use a range scan on the key index.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<User> after(KeysetCursor cursor) {
+        return (root, query, cb) -> {
+            boolean ascending = cursor.direction().isAscending();
+            Path<Long> id = root.get(ID);
+            Predicate idAfter = ascending ? cb.greaterThan(id, cursor.id()) : cb.lessThan(id, cursor.id());
+
+            if (cursor.sortField() == UserSortField.ID) {
+                return idAfter;
+            }
+
+            Path<Comparable> key = root.get(cursor.sortField().getProperty());
+            Comparable lastKey = (Comparable) cursor.key();
+
+            if (lastKey == null) {
+                // Nulls come last when ascending (nothing follows them) and first when descending.
+                Predicate withinNulls = cb.and(cb.isNull(key), idAfter);
+                return ascending ? withinNulls : cb.or(withinNulls, cb.isNotNull(key));
+            }
+
+            Predicate seek = ascending
+                    ? cb.and(cb.greaterThanOrEqualTo(key, lastKey), cb.or(cb.greaterThan(key, lastKey), idAfter))
+                    : cb.and(cb.lessThanOrEqualTo(key, lastKey), cb.or(cb.lessThan(key, lastKey), idAfter));
+
+            return ascending && cursor.sortField().isNullable() ? cb.or(seek, cb.isNull(key)) : seek;
+        };
+    }
+
+    /**
+     * Rows last written before {@code cutoff}, served by {@code idx_users_updated_at_id}.
+     */
+    public static Specification<User> updatedBefore(LocalDateTime cutoff) {
+        return (root, query, cb) -> cb.lessThan(root.get("updatedAt"), cutoff);
+    }
+
+    /**
+     * Conjunction of every criterion set on the filter; {@code null} when none is set.
+     */
+    public static Specification<User> matching(UserBulkFilterDTO filter) {
+        List<Specification<User>> criteria = new ArrayList<>();
+        if (filter.getIds() != null && !filter.getIds().isEmpty()) {
+            criteria.add((root, query, cb) -> root.get(ID).in(filter.getIds()));
+        }
+        if (filter.getEmailDomain() != null && !filter.getEmailDomain().isBlank()) {
+            String suffix = "%@" + filter.getEmailDomain().trim().toLowerCase(Locale.ROOT);
+            criteria.add((root, query, cb) -> cb.like(cb.lower(root.get("email")), suffix));
+        }
+        if (filter.getActive() != null) {
+            criteria.add((root, query, cb) -> cb.equal(root.get("active"), filter.getActive()));
+        }
+        if (filter.getCreatedAfter() != null) {
+            criteria.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), filter.getCreatedAfter()));
+        }
+        if (filter.getCreatedBefore() != null) {
+            criteria.add((root, query, cb) -> cb.lessThan(root.get("createdAt"), filter.getCreatedBefore()));
+        }
+        return criteria.isEmpty() ? null : Specification.allOf(criteria);
+    }
+
+    /**
+     * Conjunction of the list endpoint's filters; {@code null} when none is set. Each criterion is
+     * written to match an index from {@code V3__add_users_list_indexes.sql}: {@code active = true}
+     * the partial index, the {@code createdAt} bounds the btree, and the search text a
+     * {@code lower(column) LIKE '%text%'} per column, each served by a trigram index.
+     */
+    public static Specification<User> listing(UserListFilterDTO filter) {
+        List<Specification<User>> criteria = new ArrayList<>();
+        if (filter.getActive() != null) {
+            criteria.add((root, query, cb) -> cb.equal(root.get("active"), filter.getActive()));
+        }
+        if (filter.getCreatedAfter() != null) {
+            criteria.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), filter.getCreatedAfter()));
+        }
+        if (filter.getCreatedBefore() != null) {
+            criteria.add((root, query, cb) -> cb.lessThan(root.get("createdAt"), filter.getCreatedBefore()));
+        }
+        if (filter.getQ() != null && !filter.getQ().isBlank()) {
+            String pattern = "%" + escapeLike(filter.getQ().trim().toLowerCase(Locale.ROOT)) + "%";
+            criteria.add((root, query, cb) -> cb.or(SEARCHABLE.stream()
+                    .map(attribute -> cb.like(cb.lower(root.get(attribute)), pattern, LIKE_ESCAPE))
+                    .toArray(Predicate[]::new)));
+        }
+        return criteria.isEmpty() ? null : Specification.allOf(criteria);
+    }
+
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,54 @@
+package com.epam.security;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Optional;
+
+/**
+ * Skips the user lookup and password hashing for credentials found in the {@link CredentialCache};
+ * everything else goes through the delegate and is cached on success.
+ */
+@RequiredArgsConstructor
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private final AuthenticationProvider delegate;
+    private final CredentialCache credentialCache;
+
+    @Override
+    @Timed(value = "auth.authentication", histogram = true)
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String username = authentication.getName();
+        Object credentials = authentication.getCredentials();
+        if (username == null || credentials == null) {
+            return delegate.authenticate(authentication);
+        }
+
+        String presentedPassword = credentials.toString();
+        Optional<UserDetails> cached = credentialCache.get(username, presentedPassword);
+        if (cached.isPresent()) {
+            UserDetails user = cached.get();
+            UsernamePasswordAuthenticationToken result = UsernamePasswordAuthenticationToken.authenticated(
+                    user, null, user.getAuthorities());
+            result.setDetails(authentication.getDetails());
+            return result;
+        }
+
+        long lookupStartedAt = credentialCache.beginLookup();
+        Authentication result = delegate.authenticate(authentication);
+        if (result != null && result.getPrincipal() instanceof UserDetails user) {
+            credentialCache.put(username, presentedPassword, user, lookupStartedAt);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+}
@@ -0,0 +1,144 @@
+package com.epam.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, TTL-evicting cache of credentials that were already verified by the password encoder.
+ * Only a keyed HMAC digest of the presented secret is kept; the key is random per process.
+ * A credential verified by a lookup that started before the user's last eviction is not cached,
+ * so a login that read the user just before a password change cannot re-cache the old one.
+ */
+@Component
+public class CredentialCache {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final Cache<String, Entry> cache;
+    private final Cache<String, Long> evictedAt;
+    private final AtomicLong sequence = new AtomicLong();
+    private final SecretKeySpec digestKey;
+    private final Counter hits;
+    private final Counter misses;
+
+    @Autowired
+    public CredentialCache(@Value("${app.security.credential-cache.max-size:10000}") long maxSize,
+                           @Value("${app.security.credential-cache.ttl:5m}") Duration ttl,
+                           MeterRegistry meterRegistry) {
+        this(maxSize, ttl, meterRegistry, Ticker.systemTicker());
+    }
+
+    CredentialCache(long maxSize, Duration ttl, MeterRegistry meterRegistry, Ticker ticker) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .build();
+        this.evictedAt = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .build();
+
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.digestKey = new SecretKeySpec(key, HMAC_ALGORITHM);
+
+        this.hits = Counter.builder("auth.credential.cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("auth.credential.cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("auth.credential.cache.size", cache, Cache::estimatedSize)
+                .register(meterRegistry);
+    }
+
+    public Optional<UserDetails> get(String username, String presentedPassword) {
+        Entry entry = cache.getIfPresent(username);
+        if (entry != null && MessageDigest.isEqual(entry.digest(), digest(username, presentedPassword))) {
+            hits.increment();
+            return Optional.of(entry.user());
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Marks the start of a lookup whose result may later be {@link #put}.
+     */
+    public long beginLookup() {
+        return sequence.incrementAndGet();
+    }
+
+    public void put(String username, String presentedPassword, UserDetails user, long lookupStartedAt) {
+        Entry entry = new Entry(digest(username, presentedPassword), user);
+        cache.asMap().compute(username, (key, current) -> {
+            Long evicted = evictedAt.getIfPresent(key);
+            return evicted != null && evicted >= lookupStartedAt ? current : entry;
+        });
+    }
+
+    /**
+     * Evicts the user now and, inside a transaction, once more after it commits: a login running
+     * concurrently still reads the old row until then.
+     */
+    public void evict(String username) {
+        if (username == null) {
+            return;
+        }
+        invalidate(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(username);
+                }
+            });
+        }
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    private void invalidate(String username) {
+        evictedAt.put(username, sequence.incrementAndGet());
+        cache.invalidate(username);
+    }
+
+    private byte[] digest(String username, String presentedPassword) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(digestKey);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return mac.doFinal(presentedPassword.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to compute credential digest", e);
+        }
+    }
+
+    private record Entry(byte[] digest, UserDetails user) {
+    }
+}
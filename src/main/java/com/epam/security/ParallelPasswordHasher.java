@@ -0,0 +1,66 @@
+package com.epam.security;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashes many passwords at once across a dedicated pool. Hashing is CPU bound, so the pool is
+ * sized to the available cores and kept separate from the request and async executors.
+ */
+@Component
+public class ParallelPasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ExecutorService executor;
+
+    public ParallelPasswordHasher(PasswordEncoder passwordEncoder,
+                                  @Value("${app.security.password-hash.threads:0}") int threads) {
+        this.passwordEncoder = passwordEncoder;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = Executors.newFixedThreadPool(poolSize, new HashThreadFactory());
+    }
+
+    public List<String> encodeAll(List<String> rawPasswords) {
+        List<CompletableFuture<String>> futures = rawPasswords.stream()
+                .map(raw -> CompletableFuture.supplyAsync(() -> passwordEncoder.encode(raw), executor))
+                .toList();
+
+        try {
+            return futures.stream()
+                    .map(CompletableFuture::join)
+                    .toList();
+        } catch (CompletionException e) {
+            futures.forEach(future -> future.cancel(false));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static final class HashThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
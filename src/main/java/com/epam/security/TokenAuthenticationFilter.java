@@ -0,0 +1,52 @@
+package com.epam.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Authenticates requests carrying a {@code Bearer} token issued by {@link TokenService}.
+ * Verification is a signature check plus a revocation lookup, without touching the database.
+ */
+@RequiredArgsConstructor
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final TokenService tokenService;
+    private final TokenRevocationRegistry revocationRegistry;
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            tokenService.verify(header.substring(BEARER_PREFIX.length()).trim())
+                    .filter(claims -> !revocationRegistry.isRevoked(claims.username(), claims.issuedAt()))
+                    .ifPresent(claims -> {
+                        UsernamePasswordAuthenticationToken authentication =
+                                UsernamePasswordAuthenticationToken.authenticated(
+                                        claims.username(), null, claims.authorities());
+                        authentication.setDetails(detailsSource.buildDetails(request));
+
+                        SecurityContext context = SecurityContextHolder.createEmptyContext();
+                        context.setAuthentication(authentication);
+                        SecurityContextHolder.setContext(context);
+                    });
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,62 @@
+package com.epam.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+
+/**
+ * Remembers when a user's tokens were revoked. Entries only need to outlive the token TTL,
+ * after which every token issued before the revocation has expired on its own.
+ */
+@Component
+public class TokenRevocationRegistry {
+
+    private final Cache<String, Long> revokedAt;
+    private final Clock clock;
+
+    @Autowired
+    public TokenRevocationRegistry(TokenService tokenService) {
+        this(tokenService, Clock.systemUTC());
+    }
+
+    TokenRevocationRegistry(TokenService tokenService, Clock clock) {
+        this.revokedAt = Caffeine.newBuilder()
+                .expireAfterWrite(tokenService.getTtl())
+                .build();
+        this.clock = clock;
+    }
+
+    /**
+     * Revokes the user's tokens issued so far. Inside a transaction this happens once it commits,
+     * so a rolled-back change revokes nothing and tokens issued before the commit are covered.
+     */
+    public void revoke(String username) {
+        if (username == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    revokeNow(username);
+                }
+            });
+        } else {
+            revokeNow(username);
+        }
+    }
+
+    private void revokeNow(String username) {
+        revokedAt.put(username, clock.instant().getEpochSecond());
+    }
+
+    public boolean isRevoked(String username, long issuedAt) {
+        Long revokedAtSecond = revokedAt.getIfPresent(username);
+        return revokedAtSecond != null && issuedAt <= revokedAtSecond;
+    }
+}
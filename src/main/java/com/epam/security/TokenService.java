@@ -0,0 +1,134 @@
+package com.epam.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Issues and verifies compact HMAC-SHA256 signed access tokens of the form
+ * {@code base64url(issuedAt:expiresAt:authorities:username).base64url(signature)}.
+ */
+@Component
+public class TokenService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec signingKey;
+    private final Duration ttl;
+    private final Clock clock;
+
+    @Autowired
+    public TokenService(@Value("${app.security.token.secret}") String secret,
+                        @Value("${app.security.token.ttl:15m}") Duration ttl) {
+        this(secret, ttl, Clock.systemUTC());
+    }
+
+    TokenService(String secret, Duration ttl, Clock clock) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("app.security.token.secret (APP_SECURITY_TOKEN_SECRET) is not set");
+        }
+        byte[] secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (secretBytes.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("app.security.token.secret must be at least " + MIN_SECRET_BYTES + " bytes");
+        }
+        this.signingKey = new SecretKeySpec(secretBytes, HMAC_ALGORITHM);
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public String issue(UserDetails user) {
+        long issuedAt = clock.instant().getEpochSecond();
+        long expiresAt = issuedAt + ttl.toSeconds();
+        String authorities = user.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.joining(","));
+
+        String payload = issuedAt + ":" + expiresAt + ":" + authorities + ":" + user.getUsername();
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+
+        return ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(sign(payloadBytes));
+    }
+
+    public Optional<TokenClaims> verify(String token) {
+        int separator = token.indexOf('.');
+        if (separator <= 0 || separator == token.length() - 1) {
+            return Optional.empty();
+        }
+
+        byte[] payloadBytes;
+        byte[] signature;
+        try {
+            payloadBytes = DECODER.decode(token.substring(0, separator));
+            signature = DECODER.decode(token.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+
+        if (!MessageDigest.isEqual(sign(payloadBytes), signature)) {
+            return Optional.empty();
+        }
+
+        String[] parts = new String(payloadBytes, StandardCharsets.UTF_8).split(":", 4);
+        if (parts.length != 4) {
+            return Optional.empty();
+        }
+
+        long issuedAt;
+        long expiresAt;
+        try {
+            issuedAt = Long.parseLong(parts[0]);
+            expiresAt = Long.parseLong(parts[1]);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+
+        if (clock.instant().getEpochSecond() >= expiresAt) {
+            return Optional.empty();
+        }
+
+        List<SimpleGrantedAuthority> authorities = Arrays.stream(parts[2].split(","))
+                .filter(authority -> !authority.isEmpty())
+                .map(SimpleGrantedAuthority::new)
+                .toList();
+
+        return Optional.of(new TokenClaims(parts[3], issuedAt, expiresAt, authorities));
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(signingKey);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign access token", e);
+        }
+    }
+
+    public record TokenClaims(String username, long issuedAt, long expiresAt,
+                              List<SimpleGrantedAuthority> authorities) {
+    }
+}
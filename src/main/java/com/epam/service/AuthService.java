@@ -0,0 +1,11 @@
+package com.epam.service;
+
+import com.epam.dto.TokenRequestDTO;
+import com.epam.dto.TokenResponseDTO;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+
+public interface AuthService {
+
+    ResponseEntity<TokenResponseDTO> issueToken(@Valid TokenRequestDTO dto);
+}
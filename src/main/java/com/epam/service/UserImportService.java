@@ -0,0 +1,19 @@
+package com.epam.service;
+
+import com.epam.dto.ImportJobDTO;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+
+public interface UserImportService {
+
+    ResponseEntity<ImportJobDTO> startImport(MultipartFile file, String format);
+
+    ResponseEntity<ImportJobDTO> startImport(InputStream body, String contentType, String format);
+
+    ResponseEntity<ImportJobDTO> getJob(String id);
+
+    ResponseEntity<Resource> getErrors(String id);
+}
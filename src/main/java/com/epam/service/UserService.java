@@ -1,22 +1,48 @@
 package com.epam.service;
 
+import com.epam.dto.UserBulkFilterDTO;
+import com.epam.dto.UserBulkUpdateDTO;
 import com.epam.dto.UserCreateDTO;
 import com.epam.dto.UserDTO;
+import com.epam.dto.UserListFilterDTO;
+import com.epam.dto.UserLookupDTO;
 import com.epam.dto.UserUpdateDTO;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.List;
 import java.util.Map;
 
 public interface UserService {
 
-    ResponseEntity<Map<String, Object>> getAll(int page, int size, String sortBy, String direction);
+    ResponseEntity<Map<String, Object>> getAll(int page, int size, String sortBy, String direction, String count,
+                                               UserListFilterDTO filter);
+
+    ResponseEntity<Map<String, Object>> getAllByCursor(String cursor, int size, String sortBy, String direction,
+                                                       UserListFilterDTO filter);
+
+    ResponseEntity<Map<String, Object>> getChanges(String since, int limit);
 
     ResponseEntity<UserDTO> getById(Long id);
 
+    ResponseEntity<Map<String, Object>> lookup(@Valid UserLookupDTO dto);
+
     ResponseEntity<UserDTO> create(@Valid UserCreateDTO dto);
 
+    ResponseEntity<Map<String, Object>> createBatch(List<UserCreateDTO> dtos);
+
     ResponseEntity<UserDTO> update(Long id, @Valid UserUpdateDTO dto);
 
     ResponseEntity<Map<String, String>> delete(Long id);
+
+    ResponseEntity<Map<String, Object>> bulkDeactivate(@Valid UserBulkFilterDTO filter);
+
+    ResponseEntity<Map<String, Object>> bulkUpdate(@Valid UserBulkUpdateDTO dto);
+
+    ResponseEntity<Map<String, Object>> checkAvailability(String username, String email);
+
+    ResponseEntity<Map<String, Object>> suggest(String query, int limit);
+
+    ResponseEntity<StreamingResponseBody> export(String acceptEncoding);
 }
@@ -0,0 +1,35 @@
+package com.epam.service.impl;
+
+import com.epam.dto.TokenRequestDTO;
+import com.epam.dto.TokenResponseDTO;
+import com.epam.security.TokenService;
+import com.epam.service.AuthService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class AuthServiceImpl implements AuthService {
+
+    private static final String TOKEN_TYPE = "Bearer";
+
+    private final AuthenticationManager authenticationManager;
+    private final TokenService tokenService;
+
+    @Override
+    public ResponseEntity<TokenResponseDTO> issueToken(TokenRequestDTO dto) {
+        Authentication authentication = authenticationManager.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated(dto.getUsername(), dto.getPassword()));
+
+        String token = tokenService.issue((UserDetails) authentication.getPrincipal());
+
+        TokenResponseDTO response = new TokenResponseDTO(token, TOKEN_TYPE, tokenService.getTtl().toSeconds());
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,87 @@
+package com.epam.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Read-your-writes for replica routing. A write pins the user who made it, and the users it
+ * touched, to the primary for {@code read-your-writes-window}, so their next reads cannot land on
+ * a replica that has not replayed it yet. Does nothing while no replicas are configured.
+ */
+@Component
+public class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    private final boolean enabled;
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWrites(@Value("${app.datasource.replicas.urls:}") List<String> replicaUrls,
+                          @Value("${app.datasource.read-your-writes-window:5s}") Duration window) {
+        this.enabled = !replicaUrls.isEmpty();
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    /**
+     * Pins the current user and the given usernames to the primary.
+     */
+    public void recordWrite(String... usernames) {
+        if (!enabled) {
+            return;
+        }
+        String current = currentUsername();
+        if (current != null) {
+            recentWriters.put(current, Boolean.TRUE);
+        }
+        for (String username : usernames) {
+            if (username != null) {
+                recentWriters.put(username, Boolean.TRUE);
+            }
+        }
+    }
+
+    public boolean isRecent(String username) {
+        return enabled && username != null && recentWriters.getIfPresent(username) != null;
+    }
+
+    /**
+     * Whether read-only connections on this thread must come from the primary: inside
+     * {@link #onPrimary}, or for a user within the window after their own write.
+     */
+    public boolean requiresPrimary() {
+        return PRIMARY.get() != null || isRecent(currentUsername());
+    }
+
+    public <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = PRIMARY.get();
+        PRIMARY.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY.remove();
+            }
+        }
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken
+                || !authentication.isAuthenticated()) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,133 @@
+package com.epam.service.impl;
+
+import com.epam.common.BloomFilter;
+import com.epam.repository.UserStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Answers "is this username/email taken?" from Bloom filters of the normalized values, so a
+ * definite "no" never reaches the database and only possible matches are confirmed there.
+ * The filters are rebuilt from the table on the primary, never a lagging replica, on the scheduler
+ * thread (at startup and periodically, sized for the current row count) and fed by every write in
+ * between. The index is advisory:
+ * the unique constraints stay authoritative on insert.
+ */
+@Slf4j
+@Component
+public class UserAvailabilityIndex {
+
+    private final UserStore repository;
+    private final ReadYourWrites readYourWrites;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Counter answeredByFilter;
+    private final Counter confirmedByDatabase;
+
+    private volatile Filters current;
+    private volatile Filters building;
+
+    public UserAvailabilityIndex(UserStore repository,
+                                 ReadYourWrites readYourWrites,
+                                 @Value("${app.users.availability.expected-insertions:1000000}") long expectedInsertions,
+                                 @Value("${app.users.availability.false-positive-rate:0.01}") double falsePositiveRate,
+                                 MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.readYourWrites = readYourWrites;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.answeredByFilter = Counter.builder("users.availability.checks")
+                .tag("source", "filter")
+                .register(meterRegistry);
+        this.confirmedByDatabase = Counter.builder("users.availability.checks")
+                .tag("source", "database")
+                .register(meterRegistry);
+        Gauge.builder("users.availability.filter.bytes", this,
+                        index -> index.current == null ? 0 : index.current.sizeInBytes())
+                .register(meterRegistry);
+    }
+
+    public boolean isUsernameTaken(String username) {
+        Filters filters = current;
+        if (filters != null && !filters.usernames().mightContain(normalize(username))) {
+            answeredByFilter.increment();
+            return false;
+        }
+        confirmedByDatabase.increment();
+        return repository.findByUsername(username).isPresent();
+    }
+
+    public boolean isEmailTaken(String email) {
+        Filters filters = current;
+        if (filters != null && !filters.emails().mightContain(normalize(email))) {
+            answeredByFilter.increment();
+            return false;
+        }
+        confirmedByDatabase.increment();
+        return repository.existsByEmail(email);
+    }
+
+    /**
+     * Records a username/email pair that is about to be written. Call it before the insert or
+     * update, so there is no window in which the row exists but the filter answers "free".
+     */
+    public void add(String username, String email) {
+        Filters filters = current;
+        if (filters != null) {
+            filters.add(username, email);
+        }
+        Filters next = building;
+        if (next != null) {
+            next.add(username, email);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.users.availability.rebuild-interval:6h}")
+    public void rebuild() {
+        try {
+            long expected = Math.max(expectedInsertions, readYourWrites.onPrimary(repository::count) * 2);
+            Filters next = new Filters(new BloomFilter(expected, falsePositiveRate),
+                    new BloomFilter(expected, falsePositiveRate));
+            building = next;
+            readYourWrites.onPrimary(() -> {
+                repository.forEachIdentity(identity -> next.add(identity.username(), identity.email()));
+                return null;
+            });
+            current = next;
+            log.info("Availability index rebuilt for {} expected entries, {} KiB",
+                    expected, next.sizeInBytes() / 1024);
+        } catch (DataAccessException e) {
+            log.warn("Availability index rebuild failed, keeping the previous index: {}", e.getMessage());
+        } finally {
+            building = null;
+        }
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Filters(BloomFilter usernames, BloomFilter emails) {
+
+        void add(String username, String email) {
+            if (username != null) {
+                usernames.put(normalize(username));
+            }
+            if (email != null) {
+                emails.put(normalize(email));
+            }
+        }
+
+        long sizeInBytes() {
+            return (usernames.bitSize() + emails.bitSize()) / 8;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.epam.service.impl;
+
+import com.epam.dto.BatchItemResultDTO;
+import com.epam.dto.UserCreateDTO;
+import com.epam.dto.UserIdentityView;
+import com.epam.mapper.UserMapper;
+import com.epam.model.User;
+import com.epam.repository.UserStore;
+import com.epam.security.ParallelPasswordHasher;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Inserts many users in one transaction: per-item validation, one set-based uniqueness query per
+ * chunk, parallel password hashing and JDBC-batched inserts with sequence-allocated ids. Hashing
+ * runs before the transaction starts, so it does not hold a connection.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserBatchWriter {
+
+    private static final int LOOKUP_CHUNK_SIZE = 500;
+
+    private final UserStore repository;
+    private final UserMapper userMapper;
+    private final ParallelPasswordHasher passwordHasher;
+    private final UserAvailabilityIndex userAvailabilityIndex;
+    private final UserSuggestIndex userSuggestIndex;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int flushSize;
+
+    public List<BatchItemResultDTO> write(List<UserCreateDTO> items, int indexOffset) {
+        List<BatchItemResultDTO> results = new ArrayList<>(items.size());
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        List<UserCreateDTO> accepted = new ArrayList<>();
+
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            UserCreateDTO item = items.get(i);
+            int index = indexOffset + i;
+
+            String violations = validate(item);
+            if (violations != null) {
+                results.add(BatchItemResultDTO.failed(index, BatchItemResultDTO.Status.INVALID, violations));
+            } else if (!seenUsernames.add(item.getUsername())) {
+                results.add(BatchItemResultDTO.failed(index, BatchItemResultDTO.Status.CONFLICT,
+                        "User with Username: " + item.getUsername() + " is duplicated in the batch"));
+            } else if (!seenEmails.add(item.getEmail())) {
+                results.add(BatchItemResultDTO.failed(index, BatchItemResultDTO.Status.CONFLICT,
+                        "User with email: " + item.getEmail() + " is duplicated in the batch"));
+            } else {
+                acceptedIndexes.add(index);
+                accepted.add(item);
+            }
+        }
+
+        List<String> hashes = passwordHasher.encodeAll(accepted.stream().map(UserCreateDTO::getPassword).toList());
+        results.addAll(new TransactionTemplate(transactionManager)
+                .execute(status -> insert(accepted, acceptedIndexes, hashes)));
+
+        results.sort(Comparator.comparingInt(BatchItemResultDTO::getIndex));
+        return results;
+    }
+
+    /**
+     * Inserts the accepted items that do not clash with an existing user, and reports the others
+     * as conflicts.
+     */
+    private List<BatchItemResultDTO> insert(List<UserCreateDTO> accepted, List<Integer> acceptedIndexes,
+                                            List<String> hashes) {
+        List<BatchItemResultDTO> results = new ArrayList<>(accepted.size());
+        Set<String> existingUsernames = new HashSet<>();
+        Set<String> existingEmails = new HashSet<>();
+        for (int from = 0; from < accepted.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<UserCreateDTO> chunk = accepted.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, accepted.size()));
+            List<UserIdentityView> existing = repository.findIdentities(
+                    chunk.stream().map(UserCreateDTO::getUsername).toList(),
+                    chunk.stream().map(UserCreateDTO::getEmail).toList());
+            existing.forEach(identity -> {
+                existingUsernames.add(identity.username());
+                existingEmails.add(identity.email());
+            });
+        }
+
+        List<Integer> insertIndexes = new ArrayList<>();
+        List<UserCreateDTO> toInsert = new ArrayList<>();
+        List<String> insertHashes = new ArrayList<>();
+        for (int i = 0; i < accepted.size(); i++) {
+            UserCreateDTO item = accepted.get(i);
+            int index = acceptedIndexes.get(i);
+            if (existingUsernames.contains(item.getUsername())) {
+                results.add(BatchItemResultDTO.failed(index, BatchItemResultDTO.Status.CONFLICT,
+                        "User with Username: " + item.getUsername() + " is already exists"));
+            } else if (existingEmails.contains(item.getEmail())) {
+                results.add(BatchItemResultDTO.failed(index, BatchItemResultDTO.Status.CONFLICT,
+                        "User with email: " + item.getEmail() + " is already exists"));
+            } else {
+                insertIndexes.add(index);
+                toInsert.add(item);
+                insertHashes.add(hashes.get(i));
+            }
+        }
+
+        List<User> pending = new ArrayList<>(flushSize);
+        List<Integer> pendingIndexes = new ArrayList<>(flushSize);
+        for (int i = 0; i < toInsert.size(); i++) {
+            User user = userMapper.toEntity(toInsert.get(i));
+            user.setPassword(insertHashes.get(i));
+            userAvailabilityIndex.add(user.getUsername(), user.getEmail());
+            pending.add(user);
+            pendingIndexes.add(insertIndexes.get(i));
+
+            if (pending.size() == flushSize || i == toInsert.size() - 1) {
+                repository.saveAll(pending);
+                entityManager.flush();
+                for (int j = 0; j < pending.size(); j++) {
+                    User saved = pending.get(j);
+                    userSuggestIndex.put(saved.getId(), saved.getUsername(), saved.getFirstName(), saved.getLastName());
+                    results.add(BatchItemResultDTO.created(pendingIndexes.get(j), userMapper.toDto(saved)));
+                }
+                entityManager.clear();
+                pending.clear();
+                pendingIndexes.clear();
+            }
+        }
+        return results;
+    }
+
+    private String validate(UserCreateDTO item) {
+        if (item == null) {
+            return "User data is required";
+        }
+        Set<ConstraintViolation<UserCreateDTO>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+}
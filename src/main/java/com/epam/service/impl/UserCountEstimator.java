@@ -0,0 +1,52 @@
+package com.epam.service.impl;
+
+import com.epam.repository.UserStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps an approximate row count of the users table in memory. The value comes from the
+ * Postgres planner statistics ({@code pg_class.reltuples}); when those are unavailable
+ * (never analyzed, or a non-Postgres database) it falls back to an exact count.
+ * Refreshing only happens on the scheduler thread, outside any request transaction.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserCountEstimator {
+
+    private static final long UNKNOWN = -1;
+
+    private final UserStore repository;
+    private final AtomicLong estimate = new AtomicLong(UNKNOWN);
+
+    public long getEstimate() {
+        long current = estimate.get();
+        return current == UNKNOWN ? repository.count() : current;
+    }
+
+    @Scheduled(fixedDelayString = "${app.pagination.count-estimate.refresh-interval:30s}")
+    public long refresh() {
+        long value = readPlannerEstimate();
+        if (value < 0) {
+            value = repository.count();
+        }
+        estimate.set(value);
+        return value;
+    }
+
+    private long readPlannerEstimate() {
+        try {
+            Long reltuples = repository.estimateCount();
+            return reltuples == null ? UNKNOWN : reltuples;
+        } catch (DataAccessException e) {
+            log.debug("Planner row estimate unavailable, falling back to exact count: {}", e.getMessage());
+            return UNKNOWN;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.epam.service.impl;
+
+import com.epam.dto.UserDTO;
+import com.epam.mapper.UserMapper;
+import com.epam.model.User;
+import com.epam.repository.UserStore;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes the whole users table as newline-delimited JSON. Rows come from a forward-only
+ * cursor (the transaction keeps the Postgres driver from materializing the result set),
+ * bypass the second-level cache and are detached once written, so memory stays flat
+ * regardless of table size.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserExporter {
+
+    private static final int FLUSH_EVERY = 1000;
+
+    private final UserStore repository;
+    private final UserMapper userMapper;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public long writeNdjson(OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(UserDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long rows = 0;
+        try (Stream<User> users = repository.streamAllOrderedById();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Rows are separated by the newline alone, not the default space between root values.
+            generator.setRootValueSeparator(null);
+            Iterator<User> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                User user = iterator.next();
+                writer.writeValue(generator, userMapper.toDto(user));
+                generator.writeRaw('\n');
+                entityManager.detach(user);
+                if (++rows % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,52 @@
+package com.epam.service.impl;
+
+import com.epam.common.ImportFormat;
+import com.epam.dto.ImportJobDTO;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one import. Counters are updated by the worker thread after each committed chunk
+ * and read by status requests, so they only ever move forward.
+ */
+@Getter
+class UserImportJob {
+
+    private final String id;
+    private final ImportFormat format;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private volatile ImportJobDTO.Status status = ImportJobDTO.Status.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile Path errorFile;
+    private volatile String message;
+
+    UserImportJob(String id, ImportFormat format) {
+        this.id = id;
+        this.format = format;
+    }
+
+    void start() {
+        startedAt = LocalDateTime.now();
+        status = ImportJobDTO.Status.RUNNING;
+    }
+
+    void finish(ImportJobDTO.Status finalStatus, Path errors, String finalMessage) {
+        errorFile = errors;
+        message = finalMessage;
+        finishedAt = LocalDateTime.now();
+        status = finalStatus;
+    }
+
+    ImportJobDTO toDto() {
+        return new ImportJobDTO(id, status, format, processed.get(), created.get(), failed.get(),
+                submittedAt, startedAt, finishedAt, errorFile != null, message);
+    }
+}
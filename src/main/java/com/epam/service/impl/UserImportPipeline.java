@@ -0,0 +1,216 @@
+package com.epam.service.impl;
+
+import com.epam.common.ImportFormat;
+import com.epam.dto.BatchItemResultDTO;
+import com.epam.dto.UserCreateDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Two-stage import pipeline. A parser thread reads the spooled upload into fixed-size chunks and
+ * hands them over through a bounded queue; the calling thread writes each chunk through
+ * {@link UserBatchWriter} (validation, uniqueness check, parallel hashing, batched insert), one
+ * transaction per chunk. When writing falls behind, the parser blocks on the full queue, so at most
+ * {@code queue-capacity + 2} chunks are in memory however large the file is.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserImportPipeline {
+
+    private static final Chunk END = new Chunk(-1, List.of(), Map.of());
+
+    private final UserBatchWriter userBatchWriter;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper = CsvMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .enable(CsvParser.Feature.TRIM_SPACES)
+            .enable(CsvParser.Feature.IGNORE_TRAILING_UNMAPPABLE)
+            .enable(CsvParser.Feature.SKIP_EMPTY_LINES)
+            .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+            .build();
+
+    @Value("${app.users.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.users.import.queue-capacity:4}")
+    private int queueCapacity;
+
+    void run(UserImportJob job, Path source, Path errorFile) throws IOException, InterruptedException {
+        BlockingQueue<Chunk> queue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicReference<Exception> parseFailure = new AtomicReference<>();
+
+        Thread parser = Thread.ofPlatform()
+                .name("user-import-parse-" + job.getId())
+                .daemon()
+                .start(() -> parse(job.getFormat(), source, queue, parseFailure));
+
+        try (BufferedWriter errors = Files.newBufferedWriter(errorFile, StandardCharsets.UTF_8)) {
+            Chunk chunk;
+            while ((chunk = queue.take()) != END) {
+                for (BatchItemResultDTO result : write(chunk)) {
+                    if (result.getStatus() == BatchItemResultDTO.Status.CREATED) {
+                        job.getCreated().incrementAndGet();
+                    } else {
+                        job.getFailed().incrementAndGet();
+                        errors.write(objectMapper.writeValueAsString(result));
+                        errors.newLine();
+                    }
+                }
+                job.getProcessed().addAndGet(chunk.rows().size());
+            }
+        } finally {
+            parser.interrupt();
+            parser.join();
+        }
+
+        Exception failure = parseFailure.get();
+        if (failure instanceof IOException ioException) {
+            throw ioException;
+        }
+        if (failure != null) {
+            throw new IOException(failure.getMessage(), failure);
+        }
+    }
+
+    private List<BatchItemResultDTO> write(Chunk chunk) {
+        List<BatchItemResultDTO> results;
+        try {
+            results = new ArrayList<>(userBatchWriter.write(chunk.rows(), chunk.offset()));
+        } catch (DataAccessException e) {
+            log.warn("Import chunk at record {} was rejected by the database: {}", chunk.offset(), e.getMessage());
+            results = new ArrayList<>(chunk.rows().size());
+            for (int i = 0; i < chunk.rows().size(); i++) {
+                results.add(BatchItemResultDTO.failed(chunk.offset() + i, BatchItemResultDTO.Status.CONFLICT,
+                        "Chunk was rejected by the database, retry this record"));
+            }
+        }
+
+        if (!chunk.parseErrors().isEmpty()) {
+            results.replaceAll(result -> chunk.parseErrors().containsKey(result.getIndex())
+                    ? BatchItemResultDTO.failed(result.getIndex(), BatchItemResultDTO.Status.INVALID,
+                    chunk.parseErrors().get(result.getIndex()))
+                    : result);
+            results.sort(Comparator.comparingInt(BatchItemResultDTO::getIndex));
+        }
+        return results;
+    }
+
+    private void parse(ImportFormat format, Path source, BlockingQueue<Chunk> queue,
+                       AtomicReference<Exception> failure) {
+        try (InputStream in = Files.newInputStream(source)) {
+            ChunkBuilder builder = new ChunkBuilder(queue);
+            if (format == ImportFormat.CSV) {
+                parseCsv(in, builder);
+            } else {
+                parseNdjson(in, builder);
+            }
+            builder.flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            failure.set(e);
+        }
+
+        try {
+            queue.put(END);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void parseCsv(InputStream in, ChunkBuilder builder) throws IOException, InterruptedException {
+        ObjectReader reader = csvMapper.readerFor(UserCreateDTO.class)
+                .with(CsvSchema.emptySchema().withHeader());
+        try (MappingIterator<UserCreateDTO> rows = reader.readValues(in)) {
+            while (rows.hasNextValue()) {
+                try {
+                    builder.add(rows.nextValue());
+                } catch (JsonProcessingException e) {
+                    builder.addInvalid("Malformed CSV row: " + e.getOriginalMessage());
+                }
+            }
+        }
+    }
+
+    private void parseNdjson(InputStream in, ChunkBuilder builder) throws IOException, InterruptedException {
+        ObjectReader reader = objectMapper.readerFor(UserCreateDTO.class);
+        BufferedReader lines = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                builder.add(reader.readValue(line));
+            } catch (JsonProcessingException e) {
+                builder.addInvalid("Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private final class ChunkBuilder {
+        private final BlockingQueue<Chunk> queue;
+        private List<UserCreateDTO> rows = new ArrayList<>(chunkSize);
+        private Map<Integer, String> parseErrors = new HashMap<>();
+        private int offset;
+
+        private ChunkBuilder(BlockingQueue<Chunk> queue) {
+            this.queue = queue;
+        }
+
+        void add(UserCreateDTO row) throws InterruptedException {
+            rows.add(row);
+            if (rows.size() == chunkSize) {
+                flush();
+            }
+        }
+
+        void addInvalid(String message) throws InterruptedException {
+            parseErrors.put(offset + rows.size(), message);
+            add(null);
+        }
+
+        void flush() throws InterruptedException {
+            if (rows.isEmpty()) {
+                return;
+            }
+            queue.put(new Chunk(offset, rows, parseErrors));
+            offset += rows.size();
+            rows = new ArrayList<>(chunkSize);
+            parseErrors = new HashMap<>();
+        }
+    }
+
+    private record Chunk(int offset, List<UserCreateDTO> rows, Map<Integer, String> parseErrors) {
+    }
+}
@@ -0,0 +1,196 @@
+package com.epam.service.impl;
+
+import com.epam.common.ImportFormat;
+import com.epam.dto.ImportJobDTO;
+import com.epam.exceptions.InvalidRequestException;
+import com.epam.exceptions.ResourceNotFoundException;
+import com.epam.exceptions.ServiceBusyException;
+import com.epam.service.UserImportService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Accepts user import uploads and runs them in the background. The upload is spooled to a local
+ * file first, so the request finishes as soon as the bytes are received and the import itself reads
+ * from disk at its own pace. Jobs and their error files are kept for the configured retention.
+ */
+@Slf4j
+@Service
+public class UserImportServiceImpl implements UserImportService {
+
+    private final UserImportPipeline pipeline;
+    private final Path workDirectory;
+    private final ThreadPoolExecutor executor;
+    private final Cache<String, UserImportJob> jobs;
+
+    public UserImportServiceImpl(UserImportPipeline pipeline,
+                                 @Value("${app.users.import.concurrency:2}") int concurrency,
+                                 @Value("${app.users.import.max-queued:8}") int maxQueued,
+                                 @Value("${app.users.import.retention:24h}") Duration retention,
+                                 @Value("${app.users.import.work-dir:${java.io.tmpdir}}") Path workDirectory)
+            throws IOException {
+        this.pipeline = pipeline;
+        this.workDirectory = Files.createDirectories(workDirectory);
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxQueued),
+                runnable -> new Thread(runnable, "user-import-" + counter.incrementAndGet()));
+
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(retention)
+                .scheduler(Scheduler.systemScheduler())
+                .<String, UserImportJob>removalListener((id, job, cause) -> {
+                    if (job != null && job.getErrorFile() != null) {
+                        deleteQuietly(job.getErrorFile());
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public ResponseEntity<ImportJobDTO> startImport(MultipartFile file, String format) {
+        if (file == null || file.isEmpty()) {
+            throw new InvalidRequestException("Import file must not be empty");
+        }
+        ImportFormat importFormat = ImportFormat.resolve(format, file.getContentType(), file.getOriginalFilename());
+
+        Path spool = createSpoolFile();
+        try {
+            file.transferTo(spool);
+        } catch (IOException e) {
+            deleteQuietly(spool);
+            throw new UncheckedIOException("Unable to store import upload", e);
+        }
+        return submit(importFormat, spool);
+    }
+
+    @Override
+    public ResponseEntity<ImportJobDTO> startImport(InputStream body, String contentType, String format) {
+        ImportFormat importFormat = ImportFormat.resolve(format, contentType, null);
+
+        Path spool = createSpoolFile();
+        try {
+            Files.copy(body, spool, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            deleteQuietly(spool);
+            throw new UncheckedIOException("Unable to store import upload", e);
+        }
+        return submit(importFormat, spool);
+    }
+
+    @Override
+    public ResponseEntity<ImportJobDTO> getJob(String id) {
+        return ResponseEntity.ok(findJob(id).toDto());
+    }
+
+    @Override
+    public ResponseEntity<Resource> getErrors(String id) {
+        UserImportJob job = findJob(id);
+        if (job.getErrorFile() == null) {
+            throw new ResourceNotFoundException("Import " + id + " has no error file");
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"import-" + id + "-errors.ndjson\"")
+                .body(new FileSystemResource(job.getErrorFile()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private ResponseEntity<ImportJobDTO> submit(ImportFormat format, Path spool) {
+        UserImportJob job = new UserImportJob(UUID.randomUUID().toString(), format);
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> process(job, spool));
+        } catch (RejectedExecutionException e) {
+            jobs.invalidate(job.getId());
+            deleteQuietly(spool);
+            throw new ServiceBusyException("Too many imports are in progress, retry later");
+        }
+
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/users/import/" + job.getId()))
+                .body(job.toDto());
+    }
+
+    private void process(UserImportJob job, Path spool) {
+        job.start();
+        Path errorFile = workDirectory.resolve("user-import-" + job.getId() + "-errors.ndjson");
+        try {
+            pipeline.run(job, spool, errorFile);
+            job.finish(ImportJobDTO.Status.COMPLETED, retainIfNotEmpty(job, errorFile), null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.finish(ImportJobDTO.Status.FAILED, retainIfNotEmpty(job, errorFile), "Import was interrupted");
+        } catch (Exception e) {
+            log.warn("Import {} failed after {} records", job.getId(), job.getProcessed().get(), e);
+            job.finish(ImportJobDTO.Status.FAILED, retainIfNotEmpty(job, errorFile), e.getMessage());
+        } finally {
+            deleteQuietly(spool);
+            jobs.put(job.getId(), job);
+        }
+    }
+
+    private Path retainIfNotEmpty(UserImportJob job, Path errorFile) {
+        if (job.getFailed().get() > 0) {
+            return errorFile;
+        }
+        deleteQuietly(errorFile);
+        return null;
+    }
+
+    private UserImportJob findJob(String id) {
+        UserImportJob job = jobs.getIfPresent(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import with this ID: " + id + " is not found");
+        }
+        return job;
+    }
+
+    private Path createSpoolFile() {
+        try {
+            return Files.createTempFile(workDirectory, "user-import-", ".upload");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to create import spool file", e);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Unable to delete import file {}: {}", path, e.getMessage());
+        }
+    }
+}
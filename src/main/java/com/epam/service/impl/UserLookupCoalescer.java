@@ -0,0 +1,61 @@
+package com.epam.service.impl;
+
+import com.epam.common.SingleFlight;
+import com.epam.model.User;
+import com.epam.repository.UserStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Single-flight front for the hot user lookups: concurrent reads of the same id or username share
+ * one repository call. Callers must not hold a transaction while calling, otherwise every waiter
+ * pins a pooled connection; the returned entity is detached and shared, so treat it as read-only.
+ * Callers that must read their own recent writes ({@link ReadYourWrites}) bypass coalescing, since
+ * the shared lookup may be served by a replica.
+ */
+@Component
+public class UserLookupCoalescer {
+
+    private final UserStore repository;
+    private final ReadYourWrites readYourWrites;
+    private final SingleFlight<Long, Optional<User>> byId = new SingleFlight<>();
+    private final SingleFlight<String, Optional<User>> byUsername = new SingleFlight<>();
+
+    public UserLookupCoalescer(UserStore repository, ReadYourWrites readYourWrites,
+                               MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.readYourWrites = readYourWrites;
+        register(meterRegistry, byId, "id");
+        register(meterRegistry, byUsername, "username");
+    }
+
+    public Optional<User> findById(Long id) {
+        if (readYourWrites.requiresPrimary()) {
+            return repository.findById(id);
+        }
+        return byId.execute(id, () -> repository.findById(id));
+    }
+
+    public Optional<User> findByUsername(String username) {
+        if (readYourWrites.isRecent(username) || readYourWrites.requiresPrimary()) {
+            return readYourWrites.onPrimary(() -> repository.findByUsername(username));
+        }
+        return byUsername.execute(username, () -> repository.findByUsername(username));
+    }
+
+    private static void register(MeterRegistry meterRegistry, SingleFlight<?, ?> flight, String key) {
+        FunctionCounter.builder("users.lookup.calls", flight, SingleFlight::calls)
+                .tag("key", key)
+                .register(meterRegistry);
+        FunctionCounter.builder("users.lookup.coalesced", flight, SingleFlight::coalesced)
+                .tag("key", key)
+                .register(meterRegistry);
+        Gauge.builder("users.lookup.in.flight", flight, SingleFlight::inFlight)
+                .tag("key", key)
+                .register(meterRegistry);
+    }
+}
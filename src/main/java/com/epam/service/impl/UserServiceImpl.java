@@ -1,91 +1,347 @@
 package com.epam.service.impl;
 
+import com.epam.common.CountMode;
+import com.epam.common.ETags;
+import com.epam.common.KeysetCursor;
+import com.epam.common.UserSortField;
+import com.epam.dto.BatchItemResultDTO;
+import com.epam.dto.UserBulkFilterDTO;
+import com.epam.dto.UserBulkUpdateDTO;
 import com.epam.dto.UserCreateDTO;
 import com.epam.dto.UserDTO;
+import com.epam.dto.UserListFilterDTO;
+import com.epam.dto.UserLookupDTO;
 import com.epam.dto.UserUpdateDTO;
+import com.epam.dto.UserView;
+import com.epam.exceptions.InvalidRequestException;
 import com.epam.exceptions.ResourceAlreadyExistsException;
 import com.epam.exceptions.ResourceNotFoundException;
 import com.epam.mapper.UserMapper;
 import com.epam.model.User;
-import com.epam.repository.UserRepository;
+import com.epam.repository.UserStore;
+import com.epam.repository.specification.UserSpecifications;
+import com.epam.security.CredentialCache;
+import com.epam.security.TokenRevocationRegistry;
 import com.epam.service.UserService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.zip.GZIPOutputStream;
 
 @Service
+@Timed(value = "users.service", histogram = true)
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
-    private final UserRepository repository;
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_SUGGESTIONS = 50;
+
+    private final UserStore repository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final CredentialCache credentialCache;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final UserCountEstimator userCountEstimator;
+    private final UserBatchWriter userBatchWriter;
+    private final UserExporter userExporter;
+    private final UserAvailabilityIndex userAvailabilityIndex;
+    private final UserSuggestIndex userSuggestIndex;
+    private final UserLookupCoalescer userLookupCoalescer;
+    private final ReadYourWrites readYourWrites;
+
+    @Value("${app.users.batch.max-size:5000}")
+    private int maxBatchSize;
+
+    @Value("${app.users.lookup.max-size:5000}")
+    private int maxLookupSize;
+
+    @Value("${app.users.changes.max-batch-size:1000}")
+    private int maxChangesBatchSize;
+
+    @Value("${app.users.changes.settle-time:5s}")
+    private Duration changesSettleTime;
 
     @Override
     @Transactional(readOnly = true)
-    public ResponseEntity<Map<String, Object>> getAll(int page, int size, String sortBy, String direction) {
-        Sort.Direction sortDirection;
-        try {
-            sortDirection = Sort.Direction.fromString(direction);
-        } catch (IllegalArgumentException e) {
-            sortDirection = Sort.Direction.ASC;
+    public ResponseEntity<Map<String, Object>> getAll(int page, int size, String sortBy, String direction, String count,
+                                                      UserListFilterDTO filter) {
+        CountMode countMode = CountMode.fromValue(count);
+        UserSortField.fromProperty(sortBy);
+        Sort.Direction sortDirection = parseDirection(direction);
+        Specification<User> specification = UserSpecifications.listing(filter);
+        if (specification != null && countMode == CountMode.ESTIMATE) {
+            throw new InvalidRequestException("Count mode 'estimate' cannot be combined with filters");
         }
 
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sortBy));
 
-        Page<User> userPage = repository.findAll(pageable);
+        Slice<UserView> userSlice;
+        Long totalItems;
+        switch (countMode) {
+            case EXACT -> {
+                Page<UserView> userPage = specification == null
+                        ? repository.findAllViews(pageable)
+                        : repository.findViewPage(specification, pageable);
+                userSlice = userPage;
+                totalItems = userPage.getTotalElements();
+            }
+            case ESTIMATE -> {
+                userSlice = repository.findViewSlice(pageable);
+                totalItems = estimateTotal(userSlice);
+            }
+            default -> {
+                userSlice = specification == null
+                        ? repository.findViewSlice(pageable)
+                        : repository.findViewSlice(specification, pageable);
+                totalItems = null;
+            }
+        }
 
-        List<UserDTO> users = userMapper.toDtoList(userPage.getContent());
+        List<UserView> users = userSlice.getContent();
 
-        Map<String, Object> response = buildPaginationResponse(users, userPage, sortBy, direction);
+        Map<String, Object> response = buildPaginationResponse(users, userSlice, totalItems, sortBy, direction);
+        response.put("count", countMode.name().toLowerCase());
 
-        return new ResponseEntity<>(response, HttpStatus.OK);
+        String eTag = ETags.forPage(users, page, size, sortBy, direction, countMode, totalItems, userSlice.isLast(),
+                filter);
+        return conditionalResponse(response, eTag);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResponseEntity<Map<String, Object>> getAllByCursor(String cursor, int size, String sortBy, String direction,
+                                                              UserListFilterDTO filter) {
+        if (size < 1) {
+            throw new InvalidRequestException("Page size must be greater than zero");
+        }
+
+        UserSortField sortField = UserSortField.fromProperty(sortBy);
+        Sort.Direction sortDirection = parseDirection(direction);
+
+        Specification<User> specification = UserSpecifications.listing(filter);
+        if (!cursor.isBlank()) {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            if (position.sortField() != sortField || position.direction() != sortDirection) {
+                throw new InvalidRequestException("Cursor does not match the requested sort order");
+            }
+            Specification<User> after = UserSpecifications.after(position);
+            specification = specification == null ? after : specification.and(after);
+        }
+
+        Sort sort = UserSpecifications.keysetSort(sortField, sortDirection);
+        List<UserView> rows = repository.findViews(specification, sort, size + 1);
+
+        boolean last = rows.size() <= size;
+        List<UserView> users = last ? rows : rows.subList(0, size);
+
+        String nextCursor = null;
+        if (!last) {
+            UserView lastRow = users.get(users.size() - 1);
+            nextCursor = new KeysetCursor(sortField, sortDirection, sortField.valueOf(lastRow), lastRow.id())
+                    .encode();
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("content", users);
+        response.put("size", size);
+        response.put("last", last);
+        response.put("nextCursor", nextCursor);
+        response.put("sort", sortBy);
+        response.put("direction", direction);
+
+        String eTag = ETags.forPage(users, cursor, size, sortBy, direction, nextCursor, filter);
+        return conditionalResponse(response, eTag);
     }
 
+    /**
+     * Users written after {@code since}, oldest write first, deactivated ones included. Rows are
+     * read in {@code (updatedAt, id)} order, so the returned watermark is the position of the last
+     * row and the next call resumes exactly after it. Rows written within the settle time are left
+     * for a later call: their transaction may still be in flight, and one committing later with an
+     * earlier timestamp would otherwise be skipped. The settle time therefore has to exceed the
+     * longest write transaction and the replica lag.
+     */
     @Override
     @Transactional(readOnly = true)
+    public ResponseEntity<Map<String, Object>> getChanges(String since, int limit) {
+        if (limit < 1 || limit > maxChangesBatchSize) {
+            throw new InvalidRequestException("Limit must be between 1 and " + maxChangesBatchSize);
+        }
+
+        KeysetCursor position = parseWatermark(since);
+        Specification<User> specification = UserSpecifications.updatedBefore(
+                LocalDateTime.now().minus(changesSettleTime));
+        if (position != null) {
+            specification = specification.and(UserSpecifications.after(position));
+        }
+
+        Sort sort = UserSpecifications.keysetSort(UserSortField.UPDATED_AT, Sort.Direction.ASC);
+        List<UserView> rows = repository.findViews(specification, sort, limit + 1);
+
+        boolean hasMore = rows.size() > limit;
+        List<UserView> changes = hasMore ? rows.subList(0, limit) : rows;
+        if (!changes.isEmpty()) {
+            UserView lastRow = changes.get(changes.size() - 1);
+            position = new KeysetCursor(UserSortField.UPDATED_AT, Sort.Direction.ASC, lastRow.updatedAt(),
+                    lastRow.id());
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("content", changes);
+        response.put("limit", limit);
+        response.put("hasMore", hasMore);
+        response.put("watermark", position == null ? null : position.encode());
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(response);
+    }
+
+    /**
+     * Deliberately non-transactional: concurrent reads of the same id wait on one shared lookup,
+     * and a waiter should not hold a connection meanwhile.
+     */
+    @Override
     public ResponseEntity<UserDTO> getById(Long id) {
-        User user = findById(id);
+        User user = userLookupCoalescer.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User with this ID: " + id + " is not found"));
 
         UserDTO userDTO = userMapper.toDto(user);
-        return new ResponseEntity<>(userDTO, HttpStatus.OK);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(ETags.forUser(user.getId(), user.getCreatedAt(), user.getUpdatedAt()));
+        long lastModified = ETags.lastModified(user.getCreatedAt(), user.getUpdatedAt());
+        if (lastModified >= 0) {
+            builder.lastModified(lastModified);
+        }
+        return builder.body(userDTO);
     }
 
     @Override
-    @Transactional
-    public ResponseEntity<UserDTO> create(UserCreateDTO dto) {
-        validateUsername(dto.getUsername());
+    @Transactional(readOnly = true)
+    public ResponseEntity<Map<String, Object>> lookup(UserLookupDTO dto) {
+        List<Long> requested = dto.getIds();
+        if (requested == null || requested.isEmpty()) {
+            throw new InvalidRequestException("At least one id is required");
+        }
+        if (requested.stream().anyMatch(Objects::isNull)) {
+            throw new InvalidRequestException("Ids must not be null");
+        }
+        List<Long> ids = List.copyOf(new LinkedHashSet<>(requested));
+        if (ids.size() > maxLookupSize) {
+            throw new InvalidRequestException("Lookup must not contain more than " + maxLookupSize + " ids");
+        }
+
+        List<User> loaded = repository.findAllByIdOrdered(ids);
+        List<UserDTO> users = new ArrayList<>(ids.size());
+        List<Long> missing = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            User user = loaded.get(i);
+            if (user == null) {
+                missing.add(ids.get(i));
+            } else {
+                users.add(userMapper.toDto(user));
+            }
+        }
 
-        validateEmail(dto.getEmail());
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("users", users);
+        response.put("missing", missing);
+        response.put("requested", ids.size());
+        response.put("found", users.size());
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
 
+    @Override
+    @Transactional
+    public ResponseEntity<UserDTO> create(UserCreateDTO dto) {
         User user = userMapper.toEntity(dto);
         user.setPassword(passwordEncoder.encode(user.getPassword()));
+        userAvailabilityIndex.add(dto.getUsername(), dto.getEmail());
 
-        User savedUser = repository.save(user);
+        User savedUser;
+        try {
+            savedUser = repository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw toAlreadyExists(e, dto.getUsername(), dto.getEmail());
+        }
+        readYourWrites.recordWrite(savedUser.getUsername());
+        userSuggestIndex.put(savedUser.getId(), savedUser.getUsername(), savedUser.getFirstName(),
+                savedUser.getLastName());
 
         return new ResponseEntity<>(userMapper.toDto(savedUser), HttpStatus.CREATED);
     }
 
+    @Override
+    public ResponseEntity<Map<String, Object>> createBatch(List<UserCreateDTO> dtos) {
+        if (dtos == null || dtos.isEmpty()) {
+            throw new InvalidRequestException("Batch must contain at least one user");
+        }
+        if (dtos.size() > maxBatchSize) {
+            throw new InvalidRequestException("Batch must not contain more than " + maxBatchSize + " users");
+        }
+
+        List<BatchItemResultDTO> results = userBatchWriter.write(dtos, 0);
+        readYourWrites.recordWrite();
+        long created = results.stream()
+                .filter(result -> result.getStatus() == BatchItemResultDTO.Status.CREATED)
+                .count();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("results", results);
+        response.put("total", results.size());
+        response.put("created", created);
+        response.put("failed", results.size() - created);
+
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
     @Override
     @Transactional
     public ResponseEntity<UserDTO> update(Long id, UserUpdateDTO dto) {
         User user = findById(id);
+        String previousUsername = user.getUsername();
+        credentialCache.evict(previousUsername);
 
         user = userMapper.toEntity(dto, user);
+        userAvailabilityIndex.add(user.getUsername(), user.getEmail());
+        if (!Objects.equals(previousUsername, user.getUsername())) {
+            tokenRevocationRegistry.revoke(previousUsername);
+        }
 
-        UserDTO response = userMapper.toDto(repository.save(user));
+        User savedUser = repository.save(user);
+        readYourWrites.recordWrite(previousUsername, savedUser.getUsername());
+        userSuggestIndex.put(savedUser.getId(), savedUser.getUsername(), savedUser.getFirstName(),
+                savedUser.getLastName());
+        UserDTO response = userMapper.toDto(savedUser);
 
         return new ResponseEntity<>(response, HttpStatus.ACCEPTED);
     }
@@ -97,19 +353,236 @@ public class UserServiceImpl implements UserService {
         user.setActive(false);
         user.setUpdatedAt(LocalDateTime.now());
         repository.save(user);
+        readYourWrites.recordWrite(user.getUsername());
+        userSuggestIndex.remove(id);
+        credentialCache.evict(user.getUsername());
+        tokenRevocationRegistry.revoke(user.getUsername());
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
-    private void validateUsername(String username) {
-        if (repository.findByUsername(username).isPresent()) {
-            throw new ResourceAlreadyExistsException("User with Username: " + username + " is already exists");
+    /**
+     * Returns the body with validators; for a matching {@code If-None-Match} Spring MVC replies
+     * 304 straight from these headers and never serializes the body.
+     */
+    private <T> ResponseEntity<T> conditionalResponse(T body, String eTag) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(eTag)
+                .body(body);
+    }
+
+    private long estimateTotal(Slice<?> slice) {
+        long seen = slice.getPageable().getOffset() + slice.getNumberOfElements();
+        if (slice.isLast()) {
+            return seen;
+        }
+        return Math.max(userCountEstimator.getEstimate(), seen + 1);
+    }
+
+    @Override
+    @Transactional
+    public ResponseEntity<Map<String, Object>> bulkDeactivate(UserBulkFilterDTO filter) {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> usernames;
+        int affected;
+
+        if (isIdsOnly(filter)) {
+            usernames = repository.findActiveUsernamesByIds(filter.getIds());
+            affected = repository.deactivateByIds(filter.getIds(), now);
+            filter.getIds().forEach(userSuggestIndex::remove);
+        } else {
+            Specification<User> specification = requireCriteria(filter)
+                    .and((root, query, cb) -> cb.isTrue(root.get("active")));
+            usernames = repository.findUsernames(specification);
+            affected = repository.updateMatching(specification, Map.of("active", false, "updatedAt", now));
+            userSuggestIndex.markStale();
+        }
+
+        readYourWrites.recordWrite(usernames.toArray(String[]::new));
+        revokeCredentials(usernames);
+
+        return new ResponseEntity<>(Map.of("affected", affected), HttpStatus.OK);
+    }
+
+    @Override
+    @Transactional
+    public ResponseEntity<Map<String, Object>> bulkUpdate(UserBulkUpdateDTO dto) {
+        Specification<User> specification = requireCriteria(dto.getFilter());
+
+        Map<String, Object> assignments = new LinkedHashMap<>();
+        if (dto.getActive() != null) {
+            assignments.put("active", dto.getActive());
+        }
+        if (dto.getFirstName() != null) {
+            assignments.put("firstName", dto.getFirstName());
         }
+        if (dto.getLastName() != null) {
+            assignments.put("lastName", dto.getLastName());
+        }
+        if (assignments.isEmpty()) {
+            throw new InvalidRequestException("At least one field to update is required");
+        }
+        assignments.put("updatedAt", LocalDateTime.now());
+
+        List<String> usernames = Boolean.FALSE.equals(dto.getActive())
+                ? repository.findUsernames(specification)
+                : List.of();
+        int affected = repository.updateMatching(specification, assignments);
+        readYourWrites.recordWrite(usernames.toArray(String[]::new));
+        if (dto.getActive() != null || dto.getFirstName() != null || dto.getLastName() != null) {
+            userSuggestIndex.markStale();
+        }
+
+        revokeCredentials(usernames);
+
+        return new ResponseEntity<>(Map.of("affected", affected), HttpStatus.OK);
     }
 
-    private void validateEmail(String email) {
-        if (repository.findByEmail(email).isPresent()) {
-            throw new ResourceAlreadyExistsException("User with email: " + email + " is already exists");
+    @Override
+    public ResponseEntity<Map<String, Object>> checkAvailability(String username, String email) {
+        boolean hasUsername = username != null && !username.isBlank();
+        boolean hasEmail = email != null && !email.isBlank();
+        if (!hasUsername && !hasEmail) {
+            throw new InvalidRequestException("Either username or email is required");
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        if (hasUsername) {
+            response.put("username", username);
+            response.put("usernameAvailable", !userAvailabilityIndex.isUsernameTaken(username));
         }
+        if (hasEmail) {
+            response.put("email", email);
+            response.put("emailAvailable", !userAvailabilityIndex.isEmailTaken(email));
+        }
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    @Override
+    public ResponseEntity<Map<String, Object>> suggest(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("Query must not be blank");
+        }
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new InvalidRequestException("Limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("query", query);
+        response.put("suggestions", userSuggestIndex.suggest(query, limit));
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> export(String acceptEncoding) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+                userExporter.writeNdjson(compressed);
+                compressed.finish();
+            } else {
+                userExporter.writeNdjson(out);
+            }
+        };
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.ndjson\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(body);
+    }
+
+    /**
+     * A watermark returned by {@link #getChanges}, or an ISO-8601 timestamp to start from
+     * (inclusive); {@code null} starts from the beginning.
+     */
+    private KeysetCursor parseWatermark(String since) {
+        if (since == null || since.isBlank()) {
+            return null;
+        }
+        try {
+            return new KeysetCursor(UserSortField.UPDATED_AT, Sort.Direction.ASC, LocalDateTime.parse(since),
+                    Long.MIN_VALUE);
+        } catch (DateTimeParseException e) {
+            KeysetCursor position = KeysetCursor.decode(since);
+            if (position.sortField() != UserSortField.UPDATED_AT || position.direction() != Sort.Direction.ASC) {
+                throw new InvalidRequestException("Invalid watermark");
+            }
+            return position;
+        }
+    }
+
+    private boolean isIdsOnly(UserBulkFilterDTO filter) {
+        return filter.getIds() != null && !filter.getIds().isEmpty()
+                && (filter.getEmailDomain() == null || filter.getEmailDomain().isBlank())
+                && filter.getActive() == null
+                && filter.getCreatedAfter() == null
+                && filter.getCreatedBefore() == null;
+    }
+
+    private Specification<User> requireCriteria(UserBulkFilterDTO filter) {
+        Specification<User> specification = UserSpecifications.matching(filter);
+        if (specification == null) {
+            throw new InvalidRequestException("At least one filter criterion is required");
+        }
+        return specification;
+    }
+
+    private void revokeCredentials(List<String> usernames) {
+        usernames.forEach(username -> {
+            credentialCache.evict(username);
+            tokenRevocationRegistry.revoke(username);
+        });
+    }
+
+    private boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private Sort.Direction parseDirection(String direction) {
+        try {
+            return Sort.Direction.fromString(direction);
+        } catch (IllegalArgumentException e) {
+            return Sort.Direction.ASC;
+        }
+    }
+
+    /**
+     * Maps a unique constraint violation raised by the insert back to the column that caused it,
+     * by the constraint names V1 declares. The name may arrive schema-qualified, hence the
+     * containment check.
+     */
+    private RuntimeException toAlreadyExists(DataIntegrityViolationException e, String username, String email) {
+        String constraint = null;
+        for (Throwable cause = e; cause != null && constraint == null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                constraint = violation.getConstraintName();
+            }
+        }
+        if (constraint != null) {
+            String name = constraint.toLowerCase(Locale.ROOT);
+            if (name.contains(User.USERNAME_CONSTRAINT)) {
+                return new ResourceAlreadyExistsException("User with Username: " + username + " is already exists");
+            }
+            if (name.contains(User.EMAIL_CONSTRAINT)) {
+                return new ResourceAlreadyExistsException("User with email: " + email + " is already exists");
+            }
+        }
+        return e;
     }
 
     private User findById(Long id) {
@@ -119,15 +592,18 @@ public class UserServiceImpl implements UserService {
 
     private <T> Map<String, Object> buildPaginationResponse(
             List<T> data,
-            Page<?> page,
+            Slice<?> page,
+            Long totalItems,
             String sortBy,
             String direction) {
 
         Map<String, Object> response = new HashMap<>();
         response.put("content", data);
         response.put("currentPage", page.getNumber());
-        response.put("totalItems", page.getTotalElements());
-        response.put("totalPages", page.getTotalPages());
+        if (totalItems != null) {
+            response.put("totalItems", totalItems);
+            response.put("totalPages", page.getSize() == 0 ? 1 : (int) Math.ceil((double) totalItems / page.getSize()));
+        }
         response.put("size", page.getSize());
         response.put("first", page.isFirst());
         response.put("last", page.isLast());
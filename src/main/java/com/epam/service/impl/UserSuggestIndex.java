@@ -0,0 +1,400 @@
+package com.epam.service.impl;
+
+import com.epam.dto.UserSuggestion;
+import com.epam.dto.UserView;
+import com.epam.repository.UserStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongPredicate;
+
+/**
+ * Prefix index over usernames, first names and last names of active users for the suggest
+ * endpoint.
+ * <p>
+ * The bulk of the data lives in an immutable snapshot built from the table: every user's three
+ * fields are stored once as length-prefixed UTF-8 in a single byte pool, and the index itself is
+ * an {@code int[]} of pool offsets sorted by case-folded key, so a lookup is a binary search plus
+ * a short forward scan. Measured at about 56 MiB per million users with 20-character usernames
+ * and short first/last names (see {@link #sizeInBytes()}), i.e. the UTF-8 bytes plus 24 bytes of
+ * arrays per user; a top-10 lookup takes a few microseconds. Writes since the snapshot go to a
+ * small concurrent overlay that shadows the snapshot entries of the users it contains, and a
+ * deactivated user is shadowed by an overlay entry without keys. The snapshot is rebuilt from the
+ * primary periodically, or on the next check after {@link #markStale()}, and the overlay is
+ * trimmed then. Case folding covers ASCII letters only.
+ */
+@Slf4j
+@Component
+public class UserSuggestIndex {
+
+    private static final int NULL_FIELD = 0xFF;
+    private static final int MAX_FIELD_BYTES = 0xFE;
+    private static final char ID_SEPARATOR = '\u0000';
+
+    private final UserStore repository;
+    private final ReadYourWrites readYourWrites;
+    private final Duration rebuildInterval;
+    private final ConcurrentSkipListMap<String, UserSuggestion> overlay = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<Long, OverlayUser> overlayUsers = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile Snapshot snapshot;
+    private volatile boolean stale;
+
+    public UserSuggestIndex(UserStore repository,
+                            ReadYourWrites readYourWrites,
+                            @Value("${app.users.suggest.rebuild-interval:6h}") Duration rebuildInterval,
+                            MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.readYourWrites = readYourWrites;
+        this.rebuildInterval = rebuildInterval;
+        Gauge.builder("users.suggest.index.bytes", this, UserSuggestIndex::sizeInBytes)
+                .register(meterRegistry);
+        Gauge.builder("users.suggest.index.overlay.size", overlayUsers, Map::size)
+                .register(meterRegistry);
+    }
+
+    public List<UserSuggestion> suggest(String query, int limit) {
+        String prefix = fold(query.trim());
+        List<Candidate> candidates = new ArrayList<>();
+
+        Snapshot base = snapshot;
+        if (base != null) {
+            base.collect(prefix.getBytes(StandardCharsets.UTF_8), limit,
+                    id -> !overlayUsers.containsKey(id), candidates);
+        }
+
+        Set<Long> overlayIds = new HashSet<>();
+        for (Map.Entry<String, UserSuggestion> entry
+                : overlay.subMap(prefix, true, prefix + Character.MAX_VALUE, true).entrySet()) {
+            if (overlayIds.size() == limit) {
+                break;
+            }
+            if (overlayIds.add(entry.getValue().id())) {
+                String key = entry.getKey();
+                candidates.add(new Candidate(key.substring(0, key.lastIndexOf(ID_SEPARATOR)), entry.getValue()));
+            }
+        }
+
+        candidates.sort(Comparator.comparing(Candidate::key).thenComparing(candidate -> candidate.user().id()));
+        Set<Long> seen = new HashSet<>();
+        List<UserSuggestion> result = new ArrayList<>(limit);
+        for (Candidate candidate : candidates) {
+            if (result.size() == limit) {
+                break;
+            }
+            if (seen.add(candidate.user().id())) {
+                result.add(candidate.user());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Records the current names of a user that was just created or updated. Inside a transaction
+     * the change becomes visible once it commits.
+     */
+    public void put(Long id, String username, String firstName, String lastName) {
+        afterCommit(() -> apply(id, username, firstName, lastName));
+    }
+
+    /**
+     * Stops suggesting a user that was just deactivated. Inside a transaction the change becomes
+     * visible once it commits.
+     */
+    public void remove(Long id) {
+        afterCommit(() -> replace(id, List.of(), null));
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private void apply(Long id, String username, String firstName, String lastName) {
+        UserSuggestion user = new UserSuggestion(id, username, firstName, lastName);
+        List<String> keys = new ArrayList<>(3);
+        for (String field : new String[]{username, firstName, lastName}) {
+            if (field != null && !field.isEmpty()) {
+                String key = fold(field) + ID_SEPARATOR + id;
+                if (!keys.contains(key)) {
+                    keys.add(key);
+                }
+            }
+        }
+        replace(id, keys, user);
+    }
+
+    private void replace(Long id, List<String> keys, UserSuggestion user) {
+        overlayUsers.compute(id, (userId, previous) -> {
+            if (previous != null) {
+                previous.keys().forEach(overlay::remove);
+            }
+            keys.forEach(key -> overlay.put(key, user));
+            return new OverlayUser(keys, generation.incrementAndGet());
+        });
+    }
+
+    /**
+     * Requests a rebuild on the next check, for set-based writes whose affected rows are unknown.
+     */
+    public void markStale() {
+        stale = true;
+    }
+
+    public long sizeInBytes() {
+        Snapshot base = snapshot;
+        return base == null ? 0 : base.sizeInBytes();
+    }
+
+    @Scheduled(fixedDelayString = "${app.users.suggest.refresh-check:30s}")
+    public void refreshIfNeeded() {
+        Snapshot base = snapshot;
+        if (base == null || stale || base.builtAt().plus(rebuildInterval).isBefore(Instant.now())) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        stale = false;
+        long startGeneration = generation.get();
+        try {
+            SnapshotBuilder builder = new SnapshotBuilder();
+            readYourWrites.onPrimary(() -> {
+                repository.forEachView(builder);
+                return null;
+            });
+            Snapshot next = builder.build();
+            snapshot = next;
+            log.info("Suggest index rebuilt: {} users, {} keys, {} KiB",
+                    next.ids().length, next.entries().length, next.sizeInBytes() / 1024);
+        } catch (DataAccessException e) {
+            stale = true;
+            log.warn("Suggest index rebuild failed, keeping the previous index: {}", e.getMessage());
+            return;
+        }
+
+        overlayUsers.keySet().forEach(id -> overlayUsers.computeIfPresent(id, (userId, user) -> {
+            if (user.generation() > startGeneration) {
+                return user;
+            }
+            user.keys().forEach(overlay::remove);
+            return null;
+        }));
+    }
+
+    static String fold(String value) {
+        StringBuilder folded = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                if (folded == null) {
+                    folded = new StringBuilder(value);
+                }
+                folded.setCharAt(i, (char) (c + ('a' - 'A')));
+            }
+        }
+        return folded == null ? value : folded.toString();
+    }
+
+    private static int foldByte(byte b) {
+        int value = b & 0xFF;
+        return value >= 'A' && value <= 'Z' ? value + ('a' - 'A') : value;
+    }
+
+    private record OverlayUser(List<String> keys, long generation) {
+    }
+
+    private record Candidate(String key, UserSuggestion user) {
+    }
+
+    /**
+     * Users in id order: {@code ids[i]} owns the pool record starting at {@code userOffsets[i]},
+     * which holds username, first name and last name, each as a length byte followed by UTF-8.
+     * {@code entries} are offsets of non-empty fields' first byte, sorted by folded key.
+     */
+    private record Snapshot(long[] ids, int[] userOffsets, byte[] pool, int[] entries, Instant builtAt) {
+
+        long sizeInBytes() {
+            return ids.length * 8L + userOffsets.length * 4L + pool.length + entries.length * 4L;
+        }
+
+        void collect(byte[] prefix, int limit, LongPredicate visible, List<Candidate> out) {
+            int low = 0;
+            int high = entries.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compareToPrefix(entries[mid], prefix) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            Set<Long> seen = new HashSet<>();
+            for (int i = low; i < entries.length && seen.size() < limit; i++) {
+                int offset = entries[i];
+                if (compareToPrefix(offset, prefix) != 0) {
+                    break;
+                }
+                int ordinal = ordinalOf(offset);
+                long id = ids[ordinal];
+                if (visible.test(id) && seen.add(id)) {
+                    int length = pool[offset - 1] & 0xFF;
+                    String key = fold(new String(pool, offset, length, StandardCharsets.UTF_8));
+                    out.add(new Candidate(key, decode(ordinal)));
+                }
+            }
+        }
+
+        /**
+         * Negative when the entry sorts before every key starting with the prefix, zero when it
+         * starts with the prefix, positive otherwise.
+         */
+        private int compareToPrefix(int offset, byte[] prefix) {
+            int length = pool[offset - 1] & 0xFF;
+            int common = Math.min(length, prefix.length);
+            for (int i = 0; i < common; i++) {
+                int diff = foldByte(pool[offset + i]) - (prefix[i] & 0xFF);
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            return length >= prefix.length ? 0 : -1;
+        }
+
+        private int ordinalOf(int offset) {
+            int index = Arrays.binarySearch(userOffsets, offset);
+            return index >= 0 ? index : -index - 2;
+        }
+
+        private UserSuggestion decode(int ordinal) {
+            int position = userOffsets[ordinal];
+            String[] fields = new String[3];
+            for (int field = 0; field < fields.length; field++) {
+                int length = pool[position++] & 0xFF;
+                if (length != NULL_FIELD) {
+                    fields[field] = new String(pool, position, length, StandardCharsets.UTF_8);
+                    position += length;
+                }
+            }
+            return new UserSuggestion(ids[ordinal], fields[0], fields[1], fields[2]);
+        }
+    }
+
+    private static final class SnapshotBuilder implements Consumer<UserView> {
+
+        private final ByteArrayOutputStream pool = new ByteArrayOutputStream(1 << 16);
+        private long[] ids = new long[1024];
+        private int[] userOffsets = new int[1024];
+        private int[] entries = new int[3072];
+        private int userCount;
+        private int entryCount;
+
+        @Override
+        public void accept(UserView user) {
+            if (!user.active()) {
+                return;
+            }
+            if (userCount == ids.length) {
+                ids = Arrays.copyOf(ids, userCount * 2);
+                userOffsets = Arrays.copyOf(userOffsets, userCount * 2);
+            }
+            ids[userCount] = user.id();
+            userOffsets[userCount] = pool.size();
+            userCount++;
+
+            for (String field : new String[]{user.username(), user.firstName(), user.lastName()}) {
+                byte[] bytes = field == null ? null : field.getBytes(StandardCharsets.UTF_8);
+                if (bytes == null || bytes.length > MAX_FIELD_BYTES) {
+                    pool.write(NULL_FIELD);
+                    continue;
+                }
+                pool.write(bytes.length);
+                if (bytes.length > 0) {
+                    if (entryCount == entries.length) {
+                        entries = Arrays.copyOf(entries, entryCount * 2);
+                    }
+                    entries[entryCount++] = pool.size();
+                    pool.writeBytes(bytes);
+                }
+            }
+        }
+
+        Snapshot build() {
+            byte[] bytes = pool.toByteArray();
+            int[] sorted = Arrays.copyOf(entries, entryCount);
+            mergeSort(sorted, new int[sorted.length], 0, sorted.length, bytes);
+            return new Snapshot(Arrays.copyOf(ids, userCount), Arrays.copyOf(userOffsets, userCount),
+                    bytes, sorted, Instant.now());
+        }
+
+        private static void mergeSort(int[] values, int[] buffer, int from, int to, byte[] pool) {
+            if (to - from < 2) {
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            mergeSort(values, buffer, from, middle, pool);
+            mergeSort(values, buffer, middle, to, pool);
+            if (compareKeys(pool, values[middle - 1], values[middle]) <= 0) {
+                return;
+            }
+            System.arraycopy(values, from, buffer, from, to - from);
+            int left = from;
+            int right = middle;
+            for (int i = from; i < to; i++) {
+                if (right >= to || (left < middle && compareKeys(pool, buffer[left], buffer[right]) <= 0)) {
+                    values[i] = buffer[left++];
+                } else {
+                    values[i] = buffer[right++];
+                }
+            }
+        }
+
+        /**
+         * Folded key order, then pool order (which is id order) for equal keys.
+         */
+        private static int compareKeys(byte[] pool, int first, int second) {
+            int firstLength = pool[first - 1] & 0xFF;
+            int secondLength = pool[second - 1] & 0xFF;
+            int common = Math.min(firstLength, secondLength);
+            for (int i = 0; i < common; i++) {
+                int diff = foldByte(pool[first + i]) - foldByte(pool[second + i]);
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            return firstLength != secondLength ? firstLength - secondLength : Integer.compare(first, second);
+        }
+    }
+}
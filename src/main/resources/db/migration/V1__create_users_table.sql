@@ -0,0 +1,13 @@
+CREATE TABLE IF NOT EXISTS users (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username   VARCHAR(50)  NOT NULL,
+    email      VARCHAR(100) NOT NULL,
+    password   VARCHAR(120) NOT NULL,
+    first_name VARCHAR(50),
+    last_name  VARCHAR(50),
+    active     BOOLEAN DEFAULT TRUE,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
@@ -0,0 +1,5 @@
+-- Ids are now allocated by Hibernate's pooled-lo optimizer in blocks of 50 (see User#id),
+-- which keeps JDBC insert batching enabled. Start past any id handed out by the identity column.
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+
+SELECT setval('users_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM users), false);
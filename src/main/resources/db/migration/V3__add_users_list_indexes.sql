@@ -0,0 +1,18 @@
+-- Indexes behind the filters of GET /api/v1/users (see UserSpecifications#listing). Built
+-- CONCURRENTLY, outside a transaction (see the .conf file), so writes to users continue while
+-- they build. A failed build leaves an INVALID index behind that IF NOT EXISTS would keep: drop it
+-- before re-running the migration.
+
+-- active = true: only live rows, ordered by id for the default sort.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_active_id ON users (id) WHERE active = true;
+
+-- createdAt ranges, and keyset pages sorted by createdAt (key, id).
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_created_at_id ON users (created_at, id);
+
+-- Case-insensitive substring search: lower(column) LIKE '%text%' on each column.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_username_trgm ON users USING gin (lower(username) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_email_trgm ON users USING gin (lower(email) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_first_name_trgm ON users USING gin (lower(first_name) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_last_name_trgm ON users USING gin (lower(last_name) gin_trgm_ops);
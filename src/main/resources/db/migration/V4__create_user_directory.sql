@@ -0,0 +1,12 @@
+-- Username/email directory of a sharded deployment (see ShardingConfig). Only shard 0's copy is
+-- used: it maps both keys to the user id, whose residue names the shard holding the row, and keeps
+-- them unique across shards. Stays empty on a single database. changed_at lets the repair job skip
+-- entries whose shard transaction may still be running.
+CREATE TABLE IF NOT EXISTS user_directory (
+    id         BIGINT PRIMARY KEY,
+    username   VARCHAR(50)  NOT NULL,
+    email      VARCHAR(100) NOT NULL,
+    changed_at TIMESTAMP    NOT NULL DEFAULT now(),
+    CONSTRAINT uk_user_directory_username UNIQUE (username),
+    CONSTRAINT uk_user_directory_email UNIQUE (email)
+);
@@ -0,0 +1,30 @@
+-- Change feed behind GET /api/v1/users/changes: every write sets updated_at, and changes are read
+-- in (updated_at, id) order. Rows written before creates set it would never be reported otherwise.
+-- Runs outside a transaction (see the .conf file) so that no step holds a long lock on users.
+
+-- Rejects new NULLs right away, without scanning the existing rows yet.
+ALTER TABLE users DROP CONSTRAINT IF EXISTS ck_users_updated_at_not_null;
+ALTER TABLE users ADD CONSTRAINT ck_users_updated_at_not_null CHECK (updated_at IS NOT NULL) NOT VALID;
+
+-- Backfills in id ranges of 10000, committing each, so row locks are short and vacuum keeps up.
+DO $$
+DECLARE
+    batch_start BIGINT;
+    last_id     BIGINT;
+BEGIN
+    SELECT min(id), max(id) INTO batch_start, last_id FROM users;
+    WHILE batch_start <= last_id LOOP
+        UPDATE users SET updated_at = COALESCE(created_at, now())
+        WHERE id >= batch_start AND id < batch_start + 10000 AND updated_at IS NULL;
+        COMMIT;
+        batch_start := batch_start + 10000;
+    END LOOP;
+END $$;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_updated_at_id ON users (updated_at, id);
+
+-- Validating scans the table without blocking writes; SET NOT NULL then trusts the valid check
+-- instead of scanning again, and the check is no longer needed.
+ALTER TABLE users VALIDATE CONSTRAINT ck_users_updated_at_not_null;
+ALTER TABLE users ALTER COLUMN updated_at SET NOT NULL;
+ALTER TABLE users DROP CONSTRAINT ck_users_updated_at_not_null;
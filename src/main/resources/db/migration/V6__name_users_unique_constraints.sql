@@ -0,0 +1,23 @@
+-- Databases that predate Flyway are baselined at version 1, so V1 never ran on them and their
+-- unique constraints on username and email keep the names Hibernate generated. Duplicate-key
+-- errors are mapped by constraint name (User#USERNAME_CONSTRAINT, User#EMAIL_CONSTRAINT), so give
+-- those constraints the names V1 uses. A no-op where V1 created the table.
+DO $$
+DECLARE
+    existing RECORD;
+BEGIN
+    FOR existing IN
+        SELECT c.conname, 'uk_users_' || a.attname AS expected
+        FROM pg_constraint c
+        JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = c.conkey[1]
+        WHERE c.conrelid = 'users'::regclass
+          AND c.contype = 'u'
+          AND cardinality(c.conkey) = 1
+          AND a.attname IN ('username', 'email')
+    LOOP
+        IF existing.conname <> existing.expected
+                AND NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = existing.expected) THEN
+            EXECUTE format('ALTER TABLE users RENAME CONSTRAINT %I TO %I', existing.conname, existing.expected);
+        END IF;
+    END LOOP;
+END $$;
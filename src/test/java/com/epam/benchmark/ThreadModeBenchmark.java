@@ -0,0 +1,145 @@
+package com.epam.benchmark;
+
+import com.epam.common.ConcurrencyLimitingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the request thread models under the same load: Tomcat's default of 200 platform
+ * threads against a virtual thread per request with JDBC capped by {@link ConcurrencyLimitingDataSource}.
+ * Each simulated request runs one ~1 ms query on a 10-connection pool against an embedded Postgres,
+ * then blocks for {@code benchmark.io-ms} on other I/O. A fixed number of clients keep requests in
+ * flight; latency is measured from submission, so it includes queueing for a thread.
+ * <p>
+ * Run with {@code mvn test -Pbenchmark}; tune with {@code -Dbenchmark.requests},
+ * {@code -Dbenchmark.clients} and {@code -Dbenchmark.io-ms}. Pinned virtual threads are reported
+ * on stderr through {@code -Djdk.tracePinnedThreads=short}, which the profile sets.
+ */
+@Tag("benchmark")
+public class ThreadModeBenchmark {
+
+    private static final int POOL_SIZE = 10;
+    private static final int PLATFORM_THREADS = 200;
+    private static final int USERS = 10_000;
+
+    private final int requests = Integer.getInteger("benchmark.requests", 20_000);
+    private final int clients = Integer.getInteger("benchmark.clients", 1_000);
+    private final long ioMillis = Long.getLong("benchmark.io-ms", 20);
+
+    @Test
+    void compareThreadModes() throws Exception {
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.start();
+             HikariDataSource pool = pool(postgres.getPostgresDatabase())) {
+            seed(pool);
+            DataSource limited = new ConcurrencyLimitingDataSource(pool, POOL_SIZE, Duration.ofSeconds(30));
+
+            Result platform;
+            try (ExecutorService executor = Executors.newFixedThreadPool(PLATFORM_THREADS)) {
+                run("platform", executor, pool, requests / 10);
+                platform = run("platform", executor, pool, requests);
+            }
+            Result virtual;
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                run("virtual", executor, limited, requests / 10);
+                virtual = run("virtual", executor, limited, requests);
+            }
+
+            System.out.printf("%n%-9s %9s %12s %9s %9s %7s%n", "mode", "requests", "throughput/s", "p50 ms",
+                    "p99 ms", "errors");
+            for (Result result : new Result[]{platform, virtual}) {
+                System.out.printf("%-9s %9d %12.0f %9.1f %9.1f %7d%n", result.mode(), result.requests(),
+                        result.throughput(), result.p50Millis(), result.p99Millis(), result.errors());
+            }
+
+            assertEquals(0, platform.errors());
+            assertEquals(0, virtual.errors());
+        }
+    }
+
+    private Result run(String mode, ExecutorService executor, DataSource dataSource, int count)
+            throws InterruptedException {
+        Semaphore inFlight = new Semaphore(clients);
+        long[] latencies = new long[count];
+        AtomicInteger errors = new AtomicInteger();
+
+        long started = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            inFlight.acquire();
+            int index = i;
+            long submitted = System.nanoTime();
+            executor.execute(() -> {
+                try {
+                    handleRequest(dataSource);
+                } catch (Exception e) {
+                    errors.incrementAndGet();
+                } finally {
+                    latencies[index] = System.nanoTime() - submitted;
+                    inFlight.release();
+                }
+            });
+        }
+        inFlight.acquire(clients);
+        long elapsed = System.nanoTime() - started;
+
+        Arrays.sort(latencies);
+        return new Result(mode, count, count / (elapsed / 1e9), percentile(latencies, 0.50),
+                percentile(latencies, 0.99), errors.get());
+    }
+
+    private void handleRequest(DataSource dataSource) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "select id, username, email, pg_sleep(0.001) from users where id = ?")) {
+            statement.setLong(1, ThreadLocalRandom.current().nextLong(1, USERS + 1));
+            try (ResultSet row = statement.executeQuery()) {
+                assertTrue(row.next());
+            }
+        }
+        TimeUnit.MILLISECONDS.sleep(ioMillis);
+    }
+
+    private static HikariDataSource pool(DataSource postgres) {
+        HikariConfig config = new HikariConfig();
+        config.setDataSource(postgres);
+        config.setMaximumPoolSize(POOL_SIZE);
+        config.setConnectionTimeout(30_000);
+        return new HikariDataSource(config);
+    }
+
+    private static void seed(DataSource dataSource) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("create table users (id bigint primary key, username varchar(50), email varchar(100))");
+            statement.execute("insert into users select i, 'user' || i, 'user' || i || '@example.com' " +
+                    "from generate_series(1, " + USERS + ") i");
+        }
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private record Result(String mode, int requests, double throughput, double p50Millis, double p99Millis,
+                          int errors) {
+    }
+}
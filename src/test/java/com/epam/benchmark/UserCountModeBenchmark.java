@@ -0,0 +1,162 @@
+package com.epam.benchmark;
+
+import com.epam.service.impl.UserCountEstimator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Compares the {@code count=exact}, {@code estimate} and {@code none} modes of the users list at
+ * growing table sizes. Each size grows the same embedded Postgres table, refreshes the planner
+ * statistics and {@link UserCountEstimator}, and then requests the same pages in every mode
+ * through MockMvc, so the difference between the modes is the cost of the count alone. The table
+ * reports per-request latency and how far the reported total is from the real row count.
+ * <p>
+ * Run with {@code mvn test -Pbenchmark -Dtest=UserCountModeBenchmark}; tune with
+ * {@code -Dbenchmark.sizes} (comma-separated row counts), {@code -Dbenchmark.requests} and
+ * {@code -Dbenchmark.page-size}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.root=WARN"
+})
+@AutoConfigureMockMvc
+public class UserCountModeBenchmark {
+
+    private static final String[] MODES = {"exact", "estimate", "none"};
+    private static final int PAGES = 50;
+
+    private static EmbeddedPostgres postgres;
+    private static int seeded;
+
+    private final int requests = Integer.getInteger("benchmark.requests", 300);
+    private final int pageSize = Integer.getInteger("benchmark.page-size", 20);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserCountEstimator countEstimator;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    static IntStream sizes() {
+        return Arrays.stream(System.getProperty("benchmark.sizes", "10000,100000,1000000").split(","))
+                .mapToInt(size -> Integer.parseInt(size.trim()))
+                .sorted();
+    }
+
+    @ParameterizedTest(name = "{0} users")
+    @MethodSource("sizes")
+    void compareCountModes(int users) throws Exception {
+        grow(users);
+
+        Result[] results = new Result[MODES.length];
+        for (int i = 0; i < MODES.length; i++) {
+            run(MODES[i], users, requests / 2);
+            results[i] = run(MODES[i], users, requests);
+        }
+
+        System.out.printf("%n%d users, %d requests per mode, pages of %d%n", users, requests, pageSize);
+        System.out.printf("%-9s %9s %9s %9s %12s%n", "count", "p50 ms", "p99 ms", "mean ms", "total error");
+        for (Result result : results) {
+            System.out.printf("%-9s %9.2f %9.2f %9.2f %12s%n", result.mode(), result.p50Millis(),
+                    result.p99Millis(), result.meanMillis(), result.reportedTotal() < 0 ? "-"
+                            : String.format("%.1f%%", 100.0 * Math.abs(result.reportedTotal() - users) / users));
+        }
+
+        assertEquals(users, results[0].reportedTotal());
+    }
+
+    private Result run(String mode, int users, int count) throws Exception {
+        // The same page sequence for every mode.
+        Random random = new Random(42);
+        int pageCount = Math.min(PAGES, Math.max(1, users / pageSize));
+        long[] latencies = new long[count];
+        long reportedTotal = -1;
+        for (int i = 0; i < count; i++) {
+            int page = random.nextInt(pageCount);
+            long started = System.nanoTime();
+            String body = mockMvc.perform(get("/api/v1/users").with(user("reader").roles("USER"))
+                            .param("count", mode)
+                            .param("size", String.valueOf(pageSize))
+                            .param("page", String.valueOf(page)))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            latencies[i] = System.nanoTime() - started;
+            JsonNode totalItems = objectMapper.readTree(body).get("totalItems");
+            if (totalItems != null && !totalItems.isNull()) {
+                reportedTotal = totalItems.asLong();
+            }
+        }
+
+        long total = Arrays.stream(latencies).sum();
+        Arrays.sort(latencies);
+        return new Result(mode, percentile(latencies, 0.50), percentile(latencies, 0.99), total / 1e6 / count,
+                reportedTotal);
+    }
+
+    private void grow(int users) {
+        if (users > seeded) {
+            jdbcTemplate.update("""
+                            insert into users (id, username, email, password, first_name, last_name, active,
+                                               created_at, updated_at)
+                            select i, 'count' || i, 'count' || i || '@example.com', 'x', 'First' || i, 'Last' || i,
+                                   true, now() - i * interval '1 second', now() - i * interval '1 second'
+                            from generate_series(?, ?) i""",
+                    seeded + 1, users);
+        } else {
+            jdbcTemplate.update("delete from users where id > ?", users);
+        }
+        seeded = users;
+        jdbcTemplate.execute("analyze users");
+        countEstimator.refresh();
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private record Result(String mode, double p50Millis, double p99Millis, double meanMillis, long reportedTotal) {
+    }
+}
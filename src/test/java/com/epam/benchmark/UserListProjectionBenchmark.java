@@ -0,0 +1,161 @@
+package com.epam.benchmark;
+
+import com.epam.dto.UserDTO;
+import com.epam.dto.UserView;
+import com.epam.mapper.UserMapper;
+import com.epam.model.User;
+import com.epam.repository.UserRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the two ways of reading a users page over the same seeded rows: the {@link UserView}
+ * constructor-expression query the list endpoints use, against loading {@link User} entities and
+ * copying them through {@link UserMapper}. Both run the same pages, in the same order, each in a
+ * read-only transaction like {@code UserServiceImpl}; the table reports per-page latency and the
+ * bytes the calling thread allocated, which includes the JDBC driver's share.
+ * <p>
+ * Run with {@code mvn test -Pbenchmark -Dtest=UserListProjectionBenchmark}; tune with
+ * {@code -Dbenchmark.users}, {@code -Dbenchmark.page-size} and {@code -Dbenchmark.pages}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.root=WARN"
+})
+public class UserListProjectionBenchmark {
+
+    private static final String PASSWORD_HASH = "$2a$10$" + "x".repeat(53);
+
+    private static EmbeddedPostgres postgres;
+
+    private final int users = Integer.getInteger("benchmark.users", 10_000);
+    private final int pageSize = Integer.getInteger("benchmark.page-size", 50);
+    private final int pages = Integer.getInteger("benchmark.pages", 2_000);
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void compareProjectionWithEntityMapping() {
+        seed();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        IntFunction<List<?>> projection = page -> readOnly.execute(status -> entityManager
+                .createQuery(UserRepository.SELECT_VIEW + " order by u.id", UserView.class)
+                .setFirstResult(page * pageSize)
+                .setMaxResults(pageSize)
+                .getResultList());
+        IntFunction<List<?>> entities = page -> readOnly.execute(status -> userMapper.toDtoList(entityManager
+                .createQuery("select u from User u order by u.id", User.class)
+                .setFirstResult(page * pageSize)
+                .setMaxResults(pageSize)
+                .getResultList()));
+
+        assertEquals(ids(projection.apply(1)), ids(entities.apply(1)));
+        run("projection", projection, pages / 2);
+        run("entity+mapper", entities, pages / 2);
+        Result viewResult = run("projection", projection, pages);
+        Result entityResult = run("entity+mapper", entities, pages);
+
+        System.out.printf("%n%d seeded users, %d pages of %d%n", users, pages, pageSize);
+        System.out.printf("%-14s %9s %9s %9s %14s%n", "path", "p50 ms", "p99 ms", "mean ms", "bytes/page");
+        for (Result result : new Result[]{viewResult, entityResult}) {
+            System.out.printf("%-14s %9.3f %9.3f %9.3f %14d%n", result.path(), result.p50Millis(),
+                    result.p99Millis(), result.meanMillis(), result.bytesPerPage());
+        }
+    }
+
+    private Result run(String name, IntFunction<List<?>> path, int count) {
+        // The same page sequence for every run, so both paths read the same rows.
+        Random random = new Random(42);
+        int pageCount = Math.max(1, users / pageSize);
+        long[] latencies = new long[count];
+        long allocated = 0;
+        for (int i = 0; i < count; i++) {
+            int page = random.nextInt(pageCount);
+            long bytes = threads.getCurrentThreadAllocatedBytes();
+            long started = System.nanoTime();
+            List<?> rows = path.apply(page);
+            latencies[i] = System.nanoTime() - started;
+            allocated += threads.getCurrentThreadAllocatedBytes() - bytes;
+            assertEquals(pageSize, rows.size());
+        }
+
+        long total = Arrays.stream(latencies).sum();
+        Arrays.sort(latencies);
+        return new Result(name, percentile(latencies, 0.50), percentile(latencies, 0.99),
+                total / 1e6 / count, allocated / count);
+    }
+
+    private void seed() {
+        jdbcTemplate.update("""
+                        insert into users (id, username, email, password, first_name, last_name, active,
+                                           created_at, updated_at)
+                        select i, 'bench' || i, 'bench' || i || '@example.com', ?, 'First' || i, 'Last' || i, true,
+                               now() - i * interval '1 minute', now() - i * interval '1 minute'
+                        from generate_series(1, ?) i""",
+                PASSWORD_HASH, users);
+        jdbcTemplate.execute("analyze users");
+    }
+
+    private static List<Long> ids(List<?> rows) {
+        return rows.stream()
+                .map(row -> row instanceof UserView view ? view.id() : ((UserDTO) row).getId())
+                .toList();
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private record Result(String path, double p50Millis, double p99Millis, double meanMillis, long bytesPerPage) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.epam.common;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ConcurrencyLimitingDataSourceTest {
+
+    @Test
+    void getConnection_ShouldHoldPermitUntilConnectionIsClosed() throws SQLException {
+        // Arrange
+        DataSource target = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+        ConcurrencyLimitingDataSource dataSource = new ConcurrencyLimitingDataSource(target, 1, Duration.ofMillis(10));
+
+        // Act
+        Connection first = dataSource.getConnection();
+
+        // Assert
+        assertEquals(0, dataSource.getAvailablePermits());
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        first.close();
+        first.close();
+        assertEquals(1, dataSource.getAvailablePermits());
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    void getConnection_WhenTargetFails_ShouldReleasePermit() throws SQLException {
+        // Arrange
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenThrow(new SQLException("connection refused"));
+        ConcurrencyLimitingDataSource dataSource = new ConcurrencyLimitingDataSource(target, 1, Duration.ofMillis(10));
+
+        // Act & Assert
+        assertThrows(SQLException.class, dataSource::getConnection);
+        assertEquals(1, dataSource.getAvailablePermits());
+    }
+}
@@ -0,0 +1,124 @@
+package com.epam.common;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcRequestMetricsFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final JdbcStatementMetrics statementMetrics = new JdbcStatementMetrics(registry, Duration.ofSeconds(1));
+    private final JdbcRequestMetricsFilter filter = new JdbcRequestMetricsFilter(registry, 3);
+
+    @Test
+    void doFilter_ShouldAttributeStatementsToEndpoint() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/v1/users/7");
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            execute("select u.id from users u where u.id = ?", true);
+            execute("update users set first_name = ? where id = ?", true);
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/users/{id}");
+        });
+
+        // Assert
+        DistributionSummary statements = registry.get("http.server.requests.jdbc.statements")
+                .tags("method", "PUT", "uri", "/api/v1/users/{id}")
+                .summary();
+        assertEquals(1, statements.count());
+        assertEquals(2, statements.totalAmount());
+        assertEquals(1, registry.get("http.server.requests.jdbc").tag("uri", "/api/v1/users/{id}").timer().count());
+        assertEquals(1, registry.get("jdbc.statements").tags("type", "select", "outcome", "success").timer().count());
+        assertEquals(1, registry.get("jdbc.statements").tags("type", "update", "outcome", "success").timer().count());
+    }
+
+    @Test
+    void afterQuery_ShouldNotAttributeStatementsOutsideRequest() throws Exception {
+        // Arrange
+        filter.doFilter(new MockHttpServletRequest("GET", "/missing"), new MockHttpServletResponse(),
+                (req, res) -> execute("select 1", false));
+
+        // Act
+        execute("delete from users where id = ?", true);
+        filter.doFilter(new MockHttpServletRequest("GET", "/missing"), new MockHttpServletResponse(),
+                (req, res) -> {
+                });
+
+        // Assert
+        DistributionSummary statements = registry.get("http.server.requests.jdbc.statements")
+                .tags("method", "GET", "uri", "UNKNOWN")
+                .summary();
+        assertEquals(2, statements.count());
+        assertEquals(1, statements.totalAmount());
+        assertEquals(1, registry.get("jdbc.statements").tags("type", "select", "outcome", "error").timer().count());
+        assertEquals(1, registry.get("jdbc.statements").tag("type", "delete").timer().count());
+    }
+
+    @Test
+    void doFilter_ShouldCountRequestsRepeatingStatements() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/users");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/users");
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            execute("select u.id from users u", true);
+            for (int i = 0; i < 3; i++) {
+                execute("select r.name from roles r where r.user_id = ?", true);
+            }
+        });
+
+        // Assert
+        assertEquals(1, registry.get("http.server.requests.jdbc.repeated").tag("uri", "/api/v1/users")
+                .counter().count());
+    }
+
+    @Test
+    void track_ShouldCountNestedStatementsInEveryEnclosingUsage() {
+        // Arrange
+        try (JdbcStatementMetrics.Usage outer = JdbcStatementMetrics.track()) {
+            execute("select 1", true);
+
+            // Act
+            try (JdbcStatementMetrics.Usage inner = JdbcStatementMetrics.track()) {
+                execute("select 2", true);
+                execute("select 2", true);
+
+                // Assert
+                assertEquals(2, inner.getStatements());
+                assertEquals(2, inner.getRepeated(2).get("select 2"));
+            }
+            execute("select 3", true);
+            assertEquals(4, outer.getStatements());
+        }
+    }
+
+    @Test
+    void redact_ShouldMaskLiterals() {
+        // Act
+        String redacted = JdbcStatementMetrics.redact(
+                "select u1_0.id from users u1_0 where u1_0.email = 'a''b@example.com' and u1_0.id > 42 limit ?");
+
+        // Assert
+        assertEquals("select u1_0.id from users u1_0 where u1_0.email = ? and u1_0.id > ? limit ?", redacted);
+    }
+
+    private void execute(String sql, boolean success) {
+        ExecutionInfo execution = new ExecutionInfo();
+        List<QueryInfo> queries = List.of(new QueryInfo(sql));
+        statementMetrics.beforeQuery(execution, queries);
+        execution.setSuccess(success);
+        statementMetrics.afterQuery(execution, queries);
+    }
+}
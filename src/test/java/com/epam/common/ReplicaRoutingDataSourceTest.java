@@ -0,0 +1,111 @@
+package com.epam.common;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource first = mock(DataSource.class);
+    private final DataSource second = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection firstConnection = mock(Connection.class);
+    private final Connection secondConnection = mock(Connection.class);
+    private final AtomicBoolean primaryRequired = new AtomicBoolean();
+
+    private ReplicaRoutingDataSource routing;
+
+    private ReplicaRoutingDataSource routing(DataSource... replicas) {
+        Map<String, DataSource> named = new LinkedHashMap<>();
+        for (int i = 0; i < replicas.length; i++) {
+            named.put("replica-" + (i + 1), replicas[i]);
+        }
+        routing = new ReplicaRoutingDataSource(primary, named, primaryRequired::get, Duration.ofHours(1));
+        return routing;
+    }
+
+    @AfterEach
+    void tearDown() {
+        routing.close();
+    }
+
+    @Test
+    void getConnection_ShouldRoundRobinOverReplicas() throws SQLException {
+        // Arrange
+        when(first.getConnection()).thenReturn(firstConnection);
+        when(second.getConnection()).thenReturn(secondConnection);
+        ReplicaRoutingDataSource dataSource = routing(first, second);
+
+        // Act & Assert
+        assertSame(firstConnection, dataSource.getConnection());
+        assertSame(secondConnection, dataSource.getConnection());
+        assertSame(firstConnection, dataSource.getConnection());
+        assertEquals(3, dataSource.getReplicaConnections());
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    void getConnection_WhenPrimaryRequired_ShouldUsePrimary() throws SQLException {
+        // Arrange
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        ReplicaRoutingDataSource dataSource = routing(first);
+        primaryRequired.set(true);
+
+        // Act
+        Connection connection = dataSource.getConnection();
+
+        // Assert
+        assertSame(primaryConnection, connection);
+        assertEquals(0, dataSource.getFallbacks());
+        verifyNoInteractions(first);
+    }
+
+    @Test
+    void getConnection_WhenReplicaFails_ShouldMarkItDownAndFallBackToPrimary() throws SQLException {
+        // Arrange
+        when(first.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        ReplicaRoutingDataSource dataSource = routing(first);
+
+        // Act
+        Connection failedOver = dataSource.getConnection();
+        Connection next = dataSource.getConnection();
+
+        // Assert
+        assertSame(primaryConnection, failedOver);
+        assertSame(primaryConnection, next);
+        assertEquals(0, dataSource.getHealthyReplicas());
+        assertEquals(2, dataSource.getFallbacks());
+        verify(first, times(1)).getConnection();
+    }
+
+    @Test
+    void checkHealth_ShouldRestoreReplicaThatAnswersAgain() throws SQLException {
+        // Arrange
+        when(first.getConnection())
+                .thenThrow(new SQLException("Connection refused"))
+                .thenReturn(firstConnection);
+        when(firstConnection.isValid(anyInt())).thenReturn(true);
+        ReplicaRoutingDataSource dataSource = routing(first);
+        dataSource.checkHealth();
+        assertEquals(0, dataSource.getHealthyReplicas());
+
+        // Act
+        dataSource.checkHealth();
+
+        // Assert
+        assertEquals(1, dataSource.getHealthyReplicas());
+        assertSame(firstConnection, dataSource.getConnection());
+    }
+}
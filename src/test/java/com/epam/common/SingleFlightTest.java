@@ -0,0 +1,115 @@
+package com.epam.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    @Test
+    void execute_ShouldShareOneLoadBetweenConcurrentCallers() throws Exception {
+        // Arrange
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+        // Act
+        List<Future<String>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> flight.execute("alice", () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "loaded";
+                })));
+            }
+            waitUntil(() -> flight.coalesced() == CALLERS - 1);
+            release.countDown();
+
+            // Assert
+            for (Future<String> result : results) {
+                assertEquals("loaded", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+        assertEquals(CALLERS - 1, flight.coalesced());
+        assertEquals(0, flight.inFlight());
+    }
+
+    @Test
+    void execute_ShouldPropagateLeaderFailureToWaiters() throws Exception {
+        // Arrange
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+        // Act
+        List<Future<String>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> flight.execute("alice", () -> {
+                    await(release);
+                    throw new IllegalStateException("database unavailable");
+                })));
+            }
+            waitUntil(() -> flight.coalesced() == CALLERS - 1);
+            release.countDown();
+
+            // Assert
+            for (Future<String> result : results) {
+                Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(IllegalStateException.class, e.getCause());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(0, flight.inFlight());
+    }
+
+    @Test
+    void execute_ShouldLoadAgainOnceThePreviousCallCompleted() {
+        // Arrange
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        flight.execute("alice", loads::incrementAndGet);
+        int second = flight.execute("alice", loads::incrementAndGet);
+
+        // Assert
+        assertEquals(2, second);
+        assertEquals(0, flight.coalesced());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.sleep(1);
+        }
+    }
+}
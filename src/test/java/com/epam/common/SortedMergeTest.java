@@ -0,0 +1,51 @@
+package com.epam.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortedMergeTest {
+
+    @Test
+    void merge_ShouldInterleaveSortedSources() {
+        // Arrange
+        List<List<Integer>> sources = List.of(List.of(1, 4, 9), List.of(), List.of(2, 3, 10, 11), List.of(5));
+
+        // Act
+        List<Integer> merged = SortedMerge.merge(sources, Comparator.naturalOrder(), Integer.MAX_VALUE);
+
+        // Assert
+        assertEquals(List.of(1, 2, 3, 4, 5, 9, 10, 11), merged);
+    }
+
+    @Test
+    void merge_ShouldStopAtLimitAndHonourDescendingOrder() {
+        // Arrange
+        List<List<Integer>> sources = List.of(List.of(9, 4, 1), List.of(10, 3, 2));
+
+        // Act
+        List<Integer> merged = SortedMerge.merge(sources, Comparator.reverseOrder(), 3);
+
+        // Assert
+        assertEquals(List.of(10, 9, 4), merged);
+    }
+
+    @Test
+    void merge_ShouldKeepSourceOrderForEqualElements() {
+        // Arrange
+        List<Iterator<String>> sources = List.of(List.of("a1", "b1").iterator(), List.of("a2", "b2").iterator());
+        Comparator<String> byLetter = Comparator.comparing(value -> value.charAt(0));
+
+        // Act
+        List<String> merged = new ArrayList<>();
+        SortedMerge.merge(sources, byLetter).forEachRemaining(merged::add);
+
+        // Assert
+        assertEquals(List.of("a1", "a2", "b1", "b2"), merged);
+    }
+}
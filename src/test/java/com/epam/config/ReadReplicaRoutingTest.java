@@ -0,0 +1,124 @@
+package com.epam.config;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the application against two embedded Postgres databases standing in for a primary and
+ * its replica. They are deliberately not replicated: each holds rows the other lacks, so a
+ * response shows which database served it.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "app.datasource.read-your-writes-window=1m"
+})
+@AutoConfigureMockMvc
+public class ReadReplicaRoutingTest {
+
+    private static final long PRIMARY_ONLY_ID = 1;
+    private static final long REPLICA_ONLY_ID = 1000;
+
+    private static EmbeddedPostgres primary;
+    private static EmbeddedPostgres replica;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @DynamicPropertySource
+    static void databases(DynamicPropertyRegistry registry) throws IOException, SQLException {
+        primary = EmbeddedPostgres.start();
+        replica = EmbeddedPostgres.start();
+        Flyway.configure()
+                .dataSource(replica.getPostgresDatabase())
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+        try (Connection connection = replica.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("insert into users (id, username, email, password, active, created_at, updated_at) " +
+                    "values (" + REPLICA_ONLY_ID + ", 'replica-only', 'replica-only@example.com', 'x', true, " +
+                    "now(), now())");
+        }
+
+        registry.add("spring.datasource.url", () -> primary.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("app.datasource.replicas.urls", () -> replica.getJdbcUrl("postgres", "postgres"));
+    }
+
+    @BeforeAll
+    static void seedPrimary(@Autowired JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("insert into users (id, username, email, password, active, created_at, updated_at) " +
+                "values (?, 'primary-only', 'primary-only@example.com', 'x', true, now(), now())", PRIMARY_ONLY_ID);
+    }
+
+    @AfterAll
+    static void stopDatabases() throws IOException {
+        primary.close();
+        replica.close();
+    }
+
+    @BeforeEach
+    void clearCaches() {
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void readOnlyTransactions_ShouldBeServedByReplica() throws Exception {
+        mockMvc.perform(get("/api/v1/users/{id}", REPLICA_ONLY_ID).with(user("reader").roles("USER")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/users/{id}", PRIMARY_ONLY_ID).with(user("reader").roles("USER")))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/users").param("count", "none").with(user("reader").roles("USER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].username", hasItem("replica-only")));
+    }
+
+    @Test
+    void readsAfterOwnWrite_ShouldBeServedByPrimary() throws Exception {
+        // Act
+        mockMvc.perform(put("/api/v1/users/{id}", PRIMARY_ONLY_ID).with(user("writer").roles("USER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"primary-only\",\"email\":\"primary-only@example.com\"," +
+                                "\"firstName\":\"Written\"}"))
+                .andExpect(status().isAccepted());
+        entityManagerFactory.getCache().evictAll();
+
+        // Assert
+        mockMvc.perform(get("/api/v1/users/{id}", PRIMARY_ONLY_ID).with(user("writer").roles("USER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").value("Written"));
+        entityManagerFactory.getCache().evictAll();
+        mockMvc.perform(get("/api/v1/users/{id}", PRIMARY_ONLY_ID).with(user("reader").roles("USER")))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,289 @@
+package com.epam.config;
+
+import com.epam.model.User;
+import com.epam.repository.UserDirectoryRepair;
+import com.epam.repository.UserStore;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the application against three embedded Postgres databases as shards 0 to 2, and checks
+ * that rows land on the shard their id names and that reads across shards merge correctly.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "app.users.changes.settle-time=0s",
+        "app.sharding.directory-repair.interval=1h"
+})
+@AutoConfigureMockMvc
+public class ShardingTest {
+
+    private static final int SHARDS = 3;
+
+    private static final List<EmbeddedPostgres> databases = new ArrayList<>();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserStore userStore;
+
+    @Autowired
+    private UserDirectoryRepair directoryRepair;
+
+    @DynamicPropertySource
+    static void databases(DynamicPropertyRegistry registry) throws IOException {
+        for (int i = 0; i < SHARDS; i++) {
+            databases.add(EmbeddedPostgres.start());
+        }
+        registry.add("spring.datasource.url", () -> databases.get(0).getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("app.sharding.urls", () -> databases.get(1).getJdbcUrl("postgres", "postgres") + "," +
+                databases.get(2).getJdbcUrl("postgres", "postgres"));
+    }
+
+    @AfterAll
+    static void stopDatabases() throws IOException {
+        for (EmbeddedPostgres database : databases) {
+            database.close();
+        }
+    }
+
+    @BeforeEach
+    void clearCaches() {
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void create_ShouldPlaceEachUserOnTheShardItsIdNames() throws Exception {
+        // Act
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            ids.add(create("placed" + i));
+        }
+
+        // Assert
+        assertEquals(SHARDS, ids.stream().map(id -> Math.floorMod(id, SHARDS)).distinct().count());
+        for (long id : ids) {
+            for (int shard = 0; shard < SHARDS; shard++) {
+                assertEquals(shard == Math.floorMod(id, SHARDS) ? 1 : 0, count(shard, "users", id));
+            }
+            assertEquals(1, count(0, "user_directory", id));
+            mockMvc.perform(get("/api/v1/users/{id}", id).with(user("reader").roles("USER")))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.id").value(id));
+        }
+    }
+
+    @Test
+    void create_ShouldRejectUsernameTakenOnAnotherShard() throws Exception {
+        // Arrange
+        long id = create("unique");
+
+        // Act & Assert
+        for (int i = 0; i < SHARDS; i++) {
+            mockMvc.perform(post("/api/v1/users").with(user("writer").roles("USER"))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body("unique", "unique" + i + "@other.example.com")))
+                    .andExpect(status().isConflict());
+        }
+        assertEquals(1, count(Math.floorMod(id, SHARDS), "users", id));
+    }
+
+    @Test
+    void update_ShouldMoveDirectoryEntryWithRename() throws Exception {
+        // Arrange
+        long id = create("renamed");
+
+        // Act
+        mockMvc.perform(put("/api/v1/users/{id}", id).with(user("writer").roles("USER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"renamed-new\",\"email\":\"renamed@example.com\"}"))
+                .andExpect(status().isAccepted());
+
+        // Assert
+        assertEquals("renamed-new", shard(0).queryForObject(
+                "select username from user_directory where id = ?", String.class, id));
+        assertTrue(userStore.findByUsername("renamed-new").isPresent());
+        assertTrue(userStore.findByUsername("renamed").isEmpty());
+    }
+
+    @Test
+    void repairAll_ShouldRemoveOrphanedEntriesAndRewriteStaleOnes() throws Exception {
+        // Arrange
+        long renamed = create("repaired");
+        shard(0).update("update user_directory set username = 'repaired-lost', " +
+                "changed_at = now() - interval '1 hour' where id = ?", renamed);
+        shard(0).update("insert into user_directory (id, username, email, changed_at) " +
+                "values (900001, 'orphaned', 'orphaned@example.com', now() - interval '1 hour')");
+        shard(0).update("insert into user_directory (id, username, email) " +
+                "values (900002, 'pending', 'pending@example.com')");
+
+        // Act
+        int repaired = directoryRepair.repairAll();
+
+        // Assert
+        assertEquals(2, repaired);
+        assertEquals("repaired", shard(0).queryForObject(
+                "select username from user_directory where id = ?", String.class, renamed));
+        assertEquals(0, count(0, "user_directory", 900001));
+        assertEquals(1, count(0, "user_directory", 900002));
+        create("orphaned");
+    }
+
+    @Test
+    void getAll_ShouldMergeShardsInRequestedOrder() throws Exception {
+        // Arrange
+        List<String> usernames = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            String username = "merged" + (char) ('g' - i);
+            create(username);
+            usernames.add(username);
+        }
+        usernames.sort(null);
+
+        // Act
+        JsonNode first = list(get("/api/v1/users").param("q", "merged").param("sortBy", "username")
+                .param("size", "4").param("page", "0"));
+        JsonNode second = list(get("/api/v1/users").param("q", "merged").param("sortBy", "username")
+                .param("size", "4").param("page", "1"));
+
+        // Assert
+        assertEquals(7, first.get("totalItems").asInt());
+        List<String> listed = new ArrayList<>();
+        first.get("content").forEach(row -> listed.add(row.get("username").asText()));
+        second.get("content").forEach(row -> listed.add(row.get("username").asText()));
+        assertEquals(usernames, listed);
+    }
+
+    @Test
+    void getByIds_ShouldCollectUsersFromEveryShard() throws Exception {
+        // Arrange
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < SHARDS; i++) {
+            ids.add(create("looked" + i));
+        }
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/users").with(user("reader").roles("USER"))
+                        .param("ids", ids.get(2) + "," + ids.get(0) + "," + ids.get(1) + ",999999"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.found").value(SHARDS))
+                .andExpect(jsonPath("$.users[0].id").value(ids.get(2)))
+                .andExpect(jsonPath("$.missing[0]").value(999999));
+    }
+
+    @Test
+    void getChanges_ShouldReportWritesOnEveryShardInWriteOrder() throws Exception {
+        // Arrange
+        String since = LocalDateTime.now().minusSeconds(1).toString();
+        long kept = create("changed0");
+        long updated = create("changed1");
+        long deleted = create("changed2");
+        mockMvc.perform(put("/api/v1/users/{id}", updated).with(user("writer").roles("USER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"changed1\",\"email\":\"changed1@example.com\"}"))
+                .andExpect(status().isAccepted());
+        mockMvc.perform(delete("/api/v1/users/{id}", deleted).with(user("writer").roles("USER")))
+                .andExpect(status().isNoContent());
+
+        // Act
+        List<JsonNode> changes = new ArrayList<>();
+        JsonNode batch;
+        do {
+            batch = list(get("/api/v1/users/changes").param("since", since).param("limit", "2"));
+            batch.get("content").forEach(changes::add);
+            since = batch.get("watermark").asText();
+        } while (batch.get("hasMore").asBoolean());
+
+        // Assert
+        List<Long> ids = changes.stream()
+                .filter(row -> row.get("username").asText().startsWith("changed"))
+                .map(row -> row.get("id").asLong())
+                .toList();
+        assertEquals(List.of(kept, updated, deleted), ids);
+        assertFalse(changes.get(changes.size() - 1).get("active").asBoolean());
+        assertEquals(0, list(get("/api/v1/users/changes").param("since", since)).get("content").size());
+    }
+
+    @Test
+    void streamAllOrderedById_ShouldMergeShardsByAscendingId() throws Exception {
+        // Arrange
+        for (int i = 0; i < SHARDS; i++) {
+            create("streamed" + i);
+        }
+
+        // Act
+        List<Long> ids;
+        try (Stream<User> users = userStore.streamAllOrderedById()) {
+            ids = users.map(User::getId).toList();
+        }
+
+        // Assert
+        assertTrue(ids.size() >= SHARDS);
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1) < ids.get(i));
+        }
+    }
+
+    private long create(String username) throws Exception {
+        String response = mockMvc.perform(post("/api/v1/users").with(user("writer").roles("USER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body(username, username + "@example.com")))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+
+    private JsonNode list(MockHttpServletRequestBuilder request) throws Exception {
+        String response = mockMvc.perform(request.with(user("reader").roles("USER")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+
+    private static String body(String username, String email) {
+        return "{\"username\":\"" + username + "\",\"email\":\"" + email + "\",\"password\":\"secret1\"}";
+    }
+
+    private static JdbcTemplate shard(int shard) {
+        return new JdbcTemplate(databases.get(shard).getPostgresDatabase());
+    }
+
+    private static int count(int shard, String table, long id) {
+        return shard(shard).queryForObject("select count(*) from " + table + " where id = ?", Integer.class, id);
+    }
+}
@@ -0,0 +1,158 @@
+package com.epam.controller;
+
+import com.epam.support.QueryCount;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins every {@link UserController} endpoint to the number of SQL statements it may run, against
+ * the real application on an embedded Postgres. Caches are cleared before each request so the
+ * cold path is measured; authentication is mocked, so the budgets cover the endpoint alone. When
+ * a change legitimately needs more statements, raise the budget in the same change.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class UserControllerQueryBudgetTest {
+
+    private static final int USERS = 30;
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @BeforeAll
+    static void seed(@Autowired JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("insert into users (id, username, email, password, first_name, last_name, active, " +
+                "created_at, updated_at) select i, 'budget' || i, 'budget' || i || '@example.com', 'x', " +
+                "'First' || i, 'Last' || i, true, now(), now() from generate_series(1, ?) i", USERS);
+        jdbcTemplate.queryForObject("select setval('users_seq', ?, false)", Long.class, USERS + 1L);
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void clearCaches() {
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void getById_ShouldStayWithinBudget() throws Exception {
+        assertBudget(1, get("/api/v1/users/{id}", 3), status().isOk());
+    }
+
+    @Test
+    void getAll_ShouldStayWithinBudget() throws Exception {
+        assertBudget(2, get("/api/v1/users").param("size", "20"), status().isOk());
+        assertBudget(1, get("/api/v1/users").param("size", "20").param("count", "none"), status().isOk());
+        assertBudget(1, get("/api/v1/users").param("size", "20").param("cursor", "").param("count", "none"),
+                status().isOk());
+        assertBudget(2, get("/api/v1/users").param("q", "budget2").param("active", "true"), status().isOk());
+    }
+
+    @Test
+    void getByIds_ShouldStayWithinBudget() throws Exception {
+        assertBudget(1, get("/api/v1/users").param("ids", "1,2,3,4,5,6,7,8,9,10"), status().isOk());
+        assertBudget(1, post("/api/v1/users/lookup").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[11,12,13,14,15,16,17,18,19,20,999]}"), status().isOk());
+    }
+
+    @Test
+    void getChanges_ShouldStayWithinBudget() throws Exception {
+        assertBudget(1, get("/api/v1/users/changes").param("limit", "20"), status().isOk());
+        assertBudget(1, get("/api/v1/users/changes").param("since", "2000-01-01T00:00:00"), status().isOk());
+    }
+
+    @Test
+    void availabilityAndSuggest_ShouldStayWithinBudget() throws Exception {
+        assertBudget(1, get("/api/v1/users/availability").param("username", "budget5"), status().isOk());
+        assertBudget(0, get("/api/v1/users/suggest").param("q", "bud"), status().isOk());
+    }
+
+    @Test
+    void create_ShouldStayWithinBudget() throws Exception {
+        String username = "created" + SEQUENCE.incrementAndGet();
+        // The insert alone, as the unique constraints reject duplicates, plus the id block fetch
+        // from users_seq once every 50 inserts.
+        assertBudget(2, post("/api/v1/users").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + username + "\",\"email\":\"" + username + "@example.com\"," +
+                        "\"password\":\"secret1\"}"), status().isCreated());
+    }
+
+    @Test
+    void createBatch_ShouldStayWithinBudget() throws Exception {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < 10; i++) {
+            String username = "batch" + SEQUENCE.incrementAndGet();
+            body.append(i == 0 ? "" : ",").append("{\"username\":\"").append(username).append("\",\"email\":\"")
+                    .append(username).append("@example.com\",\"password\":\"secret1\"}");
+        }
+        // One uniqueness check and one batched insert for all rows, plus the occasional id block fetch.
+        assertBudget(3, post("/api/v1/users/batch").contentType(MediaType.APPLICATION_JSON)
+                .content(body.append("]").toString()), status().isOk());
+    }
+
+    @Test
+    void update_ShouldStayWithinBudget() throws Exception {
+        assertBudget(2, put("/api/v1/users/{id}", 7).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"budget7\",\"email\":\"budget7@example.com\",\"firstName\":\"Seven\"}"),
+                status().isAccepted());
+    }
+
+    @Test
+    void delete_ShouldStayWithinBudget() throws Exception {
+        assertBudget(2, delete("/api/v1/users/{id}", 30), status().isNoContent());
+    }
+
+    @Test
+    void bulkOperations_ShouldStayWithinBudget() throws Exception {
+        assertBudget(2, post("/api/v1/users/bulk/deactivate").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[25,26]}"), status().isOk());
+        assertBudget(1, post("/api/v1/users/bulk/update").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"filter\":{\"ids\":[27,28]},\"lastName\":\"Bulk\"}"), status().isOk());
+    }
+
+    private void assertBudget(int budget, MockHttpServletRequestBuilder request, ResultMatcher expectedStatus)
+            throws Exception {
+        try (QueryCount queries = QueryCount.start()) {
+            mockMvc.perform(request.with(user("budget1").roles("USER"))).andExpect(expectedStatus);
+            queries.assertAtMost(budget).assertNoRepeatedStatements();
+        }
+    }
+}
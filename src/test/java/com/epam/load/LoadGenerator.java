@@ -0,0 +1,169 @@
+package com.epam.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a weighted mix of operations and records their latency in microseconds, one HdrHistogram
+ * per operation.
+ * <ul>
+ *     <li>{@link Model#CLOSED}: {@code concurrency} clients each issue the next request as soon as the
+ *     previous one completes. Throughput is whatever the system sustains.</li>
+ *     <li>{@link Model#OPEN}: requests are released on a fixed schedule of {@code rate} per second
+ *     whatever the response times, with at most {@code concurrency} in flight. Latency is measured
+ *     from the scheduled start, not the actual one, so time a request spends waiting behind a slow
+ *     system is reported instead of hidden (coordinated omission).</li>
+ * </ul>
+ */
+final class LoadGenerator {
+
+    enum Model {CLOSED, OPEN}
+
+    @FunctionalInterface
+    interface Operation {
+        /**
+         * Executes one request and returns whether it succeeded; a thrown exception counts as a failure.
+         */
+        boolean execute() throws Exception;
+    }
+
+    record Step(String name, int weight, Operation operation) {
+    }
+
+    private final List<Step> mix;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    LoadGenerator(List<Step> mix) {
+        this.mix = List.copyOf(mix);
+        this.cumulativeWeights = new int[mix.size()];
+        int total = 0;
+        for (int i = 0; i < mix.size(); i++) {
+            total += mix.get(i).weight();
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Workload mix has no operation with a positive weight");
+        }
+        this.totalWeight = total;
+    }
+
+    Report run(Model model, int concurrency, int rate, Duration duration) throws InterruptedException {
+        Map<String, Recording> recordings = new LinkedHashMap<>();
+        for (Step step : mix) {
+            recordings.put(step.name(), new Recording());
+        }
+
+        long started = System.nanoTime();
+        long deadline = started + duration.toNanos();
+        Semaphore inFlight = new Semaphore(concurrency);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            if (model == Model.CLOSED) {
+                runClosed(recordings, concurrency, deadline, inFlight, executor);
+            } else {
+                runOpen(recordings, rate, started, deadline, inFlight, executor);
+            }
+            inFlight.acquire(concurrency);
+        } finally {
+            executor.shutdownNow();
+        }
+        return new Report(recordings, System.nanoTime() - started);
+    }
+
+    private void runClosed(Map<String, Recording> recordings, int clients, long deadline, Semaphore inFlight,
+                           ExecutorService executor) throws InterruptedException {
+        for (int i = 0; i < clients; i++) {
+            inFlight.acquire();
+            executor.execute(() -> {
+                try {
+                    while (System.nanoTime() < deadline) {
+                        Step step = next();
+                        execute(step, recordings.get(step.name()), System.nanoTime());
+                    }
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+    }
+
+    private void runOpen(Map<String, Recording> recordings, int rate, long started, long deadline,
+                         Semaphore inFlight, ExecutorService executor) throws InterruptedException {
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        for (long intended = started; intended < deadline; intended += interval) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.acquire();
+            Step step = next();
+            long scheduled = intended;
+            executor.execute(() -> {
+                try {
+                    execute(step, recordings.get(step.name()), scheduled);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+    }
+
+    private static void execute(Step step, Recording recording, long startedAt) {
+        boolean succeeded;
+        try {
+            succeeded = step.operation().execute();
+        } catch (Exception e) {
+            succeeded = false;
+        }
+        recording.latencies().recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startedAt));
+        if (!succeeded) {
+            recording.errors().increment();
+        }
+    }
+
+    private Step next() {
+        int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return mix.get(i);
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    record Recording(Histogram latencies, LongAdder errors) {
+        Recording() {
+            this(new ConcurrentHistogram(3), new LongAdder());
+        }
+    }
+
+    record Report(Map<String, Recording> recordings, long elapsedNanos) {
+
+        Histogram total() {
+            Histogram total = new Histogram(3);
+            recordings.values().forEach(recording -> total.add(recording.latencies()));
+            return total;
+        }
+
+        long errors() {
+            return recordings.values().stream().mapToLong(recording -> recording.errors().sum()).sum();
+        }
+
+        double throughput(Histogram histogram) {
+            return histogram.getTotalCount() / (elapsedNanos / 1e9);
+        }
+    }
+}
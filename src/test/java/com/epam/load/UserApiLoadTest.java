@@ -0,0 +1,294 @@
+package com.epam.load;
+
+import com.epam.security.CredentialCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end load harness: boots the whole application on a random port against an embedded
+ * Postgres (real binaries, no network or Docker needed), lets Flyway create the schema, seeds
+ * {@code load.users} rows and drives a mixed workload over HTTP through the security filters,
+ * {@code UserController}, {@code UserServiceImpl} and JPA.
+ * <p>
+ * Like real clients, requests authenticate as one of a few logged-in users, with a bearer token or
+ * HTTP Basic credentials that the credential cache already holds. The {@code token} operation logs
+ * in as a random user, and {@code basic-miss} sends HTTP Basic credentials evicted from the cache
+ * first; both pay for the full BCrypt check.
+ * <p>
+ * Run with {@code mvn test -Pload}. Knobs, all system properties:
+ * <ul>
+ *     <li>{@code load.users} seeded rows (10000)</li>
+ *     <li>{@code load.model} {@code closed} or {@code open} (closed)</li>
+ *     <li>{@code load.clients} closed-model clients, or the open-model in-flight cap (32)</li>
+ *     <li>{@code load.rate} open-model requests per second (200)</li>
+ *     <li>{@code load.warmup} and {@code load.duration} in seconds (5, 20)</li>
+ *     <li>{@code load.mix} weights, e.g. {@code read=50,list=15,update=10,create=5,token=5,basic=10,basic-miss=5}</li>
+ *     <li>{@code load.max-error-rate} fraction of failed requests tolerated (0)</li>
+ *     <li>{@code load.max-p99-ms} optional p99 budget over all operations, to gate regressions</li>
+ * </ul>
+ * A summary table is printed and each operation's full percentile distribution is written as an
+ * {@code .hgrm} file (values in milliseconds) under {@code target/load-reports/<timestamp>}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.root=WARN"
+})
+public class UserApiLoadTest {
+
+    private static final String PASSWORD = "load-test-password";
+    private static final String DEFAULT_MIX = "read=50,list=15,update=10,create=5,token=5,basic=10,basic-miss=5";
+    private static final int SESSIONS = 32;
+    private static final int PAGE_SIZE = 20;
+
+    private static EmbeddedPostgres postgres;
+
+    private final int users = Integer.getInteger("load.users", 10_000);
+    private final LoadGenerator.Model model =
+            LoadGenerator.Model.valueOf(System.getProperty("load.model", "closed").toUpperCase());
+    private final int clients = Integer.getInteger("load.clients", 32);
+    private final int rate = Integer.getInteger("load.rate", 200);
+    private final Duration warmup = Duration.ofSeconds(Long.getLong("load.warmup", 5));
+    private final Duration duration = Duration.ofSeconds(Long.getLong("load.duration", 20));
+    private final String mix = System.getProperty("load.mix", DEFAULT_MIX);
+    private final double maxErrorRate = Double.parseDouble(System.getProperty("load.max-error-rate", "0"));
+    private final Long maxP99Millis = Long.getLong("load.max-p99-ms");
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final AtomicLong created = new AtomicLong();
+    private final List<String> tokens = new ArrayList<>();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CredentialCache credentialCache;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url",
+                () -> postgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true");
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void mixedWorkload() throws Exception {
+        seed();
+        for (long id = 1; id <= Math.min(SESSIONS, users); id++) {
+            tokens.add(issueToken(id));
+        }
+        LoadGenerator generator = new LoadGenerator(steps());
+
+        generator.run(model, clients, rate, warmup);
+        LoadGenerator.Report report = generator.run(model, clients, rate, duration);
+
+        Histogram total = report.total();
+        print(report, total);
+        write(report, total);
+
+        assertTrue(total.getTotalCount() > 0, "No requests completed");
+        assertTrue(report.errors() <= maxErrorRate * total.getTotalCount(),
+                report.errors() + " of " + total.getTotalCount() + " requests failed");
+        if (maxP99Millis != null) {
+            double p99 = total.getValueAtPercentile(99) / 1000.0;
+            assertTrue(p99 <= maxP99Millis, "p99 of " + p99 + " ms exceeds the budget of " + maxP99Millis + " ms");
+        }
+    }
+
+    private void seed() {
+        jdbcTemplate.update("""
+                        insert into users (id, username, email, password, first_name, last_name, active,
+                                           created_at, updated_at)
+                        select i, 'load' || i, 'load' || i || '@example.com', ?, 'First' || i, 'Last' || i, true,
+                               now() - i * interval '1 minute', now() - i * interval '1 minute'
+                        from generate_series(1, ?) i""",
+                passwordEncoder.encode(PASSWORD), users);
+        jdbcTemplate.queryForObject("select setval('users_seq', ?, false)", Long.class, users + 1L);
+        jdbcTemplate.execute("analyze users");
+    }
+
+    private List<LoadGenerator.Step> steps() {
+        Map<String, LoadGenerator.Operation> operations = new LinkedHashMap<>();
+        operations.put("read", () -> succeeded(send(get("/api/v1/users/" + randomId()).header("Authorization",
+                "Bearer " + tokens.get(ThreadLocalRandom.current().nextInt(tokens.size()))))));
+        operations.put("list", () -> succeeded(send(get("/api/v1/users?count=none&size=" + PAGE_SIZE + "&page="
+                + ThreadLocalRandom.current().nextInt(Math.max(1, users / PAGE_SIZE)))
+                .header("Authorization", basic(sessionId())))));
+        operations.put("update", this::update);
+        operations.put("create", this::create);
+        operations.put("token", () -> {
+            issueToken(randomId());
+            return true;
+        });
+        operations.put("basic", () -> succeeded(send(get("/api/v1/users/" + randomId())
+                .header("Authorization", basic(sessionId())))));
+        operations.put("basic-miss", () -> {
+            long id = randomId();
+            credentialCache.evict("load" + id);
+            return succeeded(send(get("/api/v1/users/" + randomId()).header("Authorization", basic(id))));
+        });
+
+        List<LoadGenerator.Step> steps = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            LoadGenerator.Operation operation = operations.get(parts[0]);
+            if (operation == null || parts.length != 2) {
+                throw new IllegalArgumentException("Unknown load.mix entry '" + entry + "', expected one of "
+                        + operations.keySet() + " as name=weight");
+            }
+            steps.add(new LoadGenerator.Step(parts[0], Integer.parseInt(parts[1]), operation));
+        }
+        return steps;
+    }
+
+    private boolean update() throws Exception {
+        long id = randomId();
+        String body = objectMapper.writeValueAsString(Map.of(
+                "username", "load" + id,
+                "email", "load" + id + "@example.com",
+                "firstName", "First" + ThreadLocalRandom.current().nextInt(1000),
+                "lastName", "Last" + id));
+        return succeeded(send(request("/api/v1/users/" + id)
+                .header("Authorization", basic(sessionId()))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(body))));
+    }
+
+    private boolean create() throws Exception {
+        String username = "new" + ProcessHandle.current().pid() + "-" + created.incrementAndGet();
+        String body = objectMapper.writeValueAsString(Map.of(
+                "username", username,
+                "email", username + "@example.com",
+                "password", PASSWORD,
+                "firstName", "New",
+                "lastName", "User"));
+        return succeeded(send(request("/api/v1/users")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))));
+    }
+
+    private String issueToken(long id) throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of("username", "load" + id, "password", PASSWORD));
+        HttpResponse<String> response = send(request("/api/v1/auth/token")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+        if (!succeeded(response)) {
+            throw new IllegalStateException("Token request for load" + id + " failed with " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body()).get("accessToken").asText();
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, users + 1L);
+    }
+
+    private long sessionId() {
+        return ThreadLocalRandom.current().nextLong(1, tokens.size() + 1L);
+    }
+
+    private static String basic(long id) {
+        String credentials = "load" + id + ":" + PASSWORD;
+        return "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return request(path).GET();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).timeout(Duration.ofSeconds(30));
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static boolean succeeded(HttpResponse<String> response) {
+        return response.statusCode() / 100 == 2;
+    }
+
+    private void print(LoadGenerator.Report report, Histogram total) {
+        System.out.printf("%n%s model, %d clients%s, %d seeded users, %d s%n", model, clients,
+                model == LoadGenerator.Model.OPEN ? ", " + rate + " req/s" : "", users, duration.toSeconds());
+        System.out.printf("%-10s %9s %8s %12s %9s %9s %9s %9s %9s%n", "op", "requests", "errors", "throughput/s",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        report.recordings().forEach((name, recording) ->
+                printRow(name, recording.latencies(), recording.errors().sum(), report));
+        printRow("all", total, report.errors(), report);
+    }
+
+    private static void printRow(String name, Histogram histogram, long errors, LoadGenerator.Report report) {
+        System.out.printf("%-10s %9d %8d %12.0f %9.1f %9.1f %9.1f %9.1f %9.1f%n", name, histogram.getTotalCount(),
+                errors, report.throughput(histogram), histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(90) / 1000.0, histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0, histogram.getMaxValue() / 1000.0);
+    }
+
+    private void write(LoadGenerator.Report report, Histogram total) throws IOException {
+        Path directory = Path.of("target", "load-reports",
+                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+        Files.createDirectories(directory);
+        Map<String, Histogram> histograms = new LinkedHashMap<>();
+        report.recordings().forEach((name, recording) -> histograms.put(name, recording.latencies()));
+        histograms.put("all", total);
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(entry.getKey() + ".hgrm")),
+                    false, StandardCharsets.UTF_8)) {
+                entry.getValue().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        System.out.println("Latency distributions written to " + directory.toAbsolutePath());
+    }
+}
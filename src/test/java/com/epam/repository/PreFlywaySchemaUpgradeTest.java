@@ -0,0 +1,105 @@
+package com.epam.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Starts the application on a database created by Hibernate's {@code ddl-auto=update} before
+ * Flyway was introduced, which Flyway baselines at version 1 instead of running V1 on it.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class PreFlywaySchemaUpgradeTest {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException, SQLException {
+        postgres = EmbeddedPostgres.start();
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            // The schema Hibernate generated for the original User entity, constraint names included.
+            statement.execute("create table users (active boolean default true, created_at timestamp(6), " +
+                    "id bigint generated by default as identity, updated_at timestamp(6), " +
+                    "email varchar(100) not null, first_name varchar(50), last_name varchar(50), " +
+                    "password varchar(120) not null, username varchar(50) not null, primary key (id), " +
+                    "constraint UKr43af9ap4edm43mmtq01oddj6 unique (username), " +
+                    "constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email))");
+            statement.execute("insert into users (username, email, password, created_at) " +
+                    "values ('legacy', 'legacy@example.com', 'x', now())");
+        }
+
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void migrate_ShouldRenameHibernateConstraints() {
+        // Act
+        List<String> constraints = jdbcTemplate.queryForList("select conname from pg_constraint " +
+                "where conrelid = 'users'::regclass and contype = 'u' order by conname", String.class);
+
+        // Assert
+        assertEquals(List.of("uk_users_email", "uk_users_username"), constraints);
+    }
+
+    @Test
+    void migrate_ShouldBackfillUpdatedAtAndRequireIt() {
+        // Act
+        Boolean backfilled = jdbcTemplate.queryForObject(
+                "select updated_at = created_at from users where username = 'legacy'", Boolean.class);
+        String nullable = jdbcTemplate.queryForObject("select is_nullable from information_schema.columns " +
+                "where table_name = 'users' and column_name = 'updated_at'", String.class);
+
+        // Assert
+        assertEquals(Boolean.TRUE, backfilled);
+        assertEquals("NO", nullable);
+    }
+
+    @Test
+    void create_WhenUsernameOrEmailIsTaken_ShouldReturnConflict() throws Exception {
+        mockMvc.perform(post("/api/v1/users").with(user("writer").roles("USER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"legacy\",\"email\":\"other@example.com\",\"password\":\"secret1\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("User with Username: legacy is already exists"));
+        mockMvc.perform(post("/api/v1/users").with(user("writer").roles("USER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"other\",\"email\":\"legacy@example.com\",\"password\":\"secret1\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("User with email: legacy@example.com is already exists"));
+    }
+}
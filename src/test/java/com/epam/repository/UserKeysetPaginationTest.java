@@ -0,0 +1,101 @@
+package com.epam.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pages through the users list with keyset cursors on Postgres, sorted by a nullable column with
+ * repeated values, and checks that the pages add up to exactly the order Postgres itself returns.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class UserKeysetPaginationTest {
+
+    private static final int USERS = 30;
+    private static final int PAGE_SIZE = 4;
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("delete from users");
+        // Every third first name is null, and the others repeat, so pages end inside runs of equal keys.
+        jdbcTemplate.update("""
+                insert into users (id, username, email, password, first_name, active, created_at, updated_at)
+                select i, 'keyset' || i, 'keyset' || i || '@example.com', 'x',
+                       case when i % 3 = 0 then null else 'name' || (i % 4) end, true, now(), now()
+                from generate_series(1, ?) i""", USERS);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"asc", "desc"})
+    void getAllByCursor_OnNullableSortField_ShouldReturnEveryRowOnceInDatabaseOrder(String direction)
+            throws Exception {
+        // Arrange
+        List<Long> expected = jdbcTemplate.queryForList(
+                "select id from users order by first_name " + direction + ", id " + direction, Long.class);
+
+        // Act
+        List<Long> paged = new ArrayList<>();
+        String cursor = "";
+        do {
+            String response = mockMvc.perform(get("/api/v1/users").with(user("reader").roles("USER"))
+                            .param("cursor", cursor)
+                            .param("size", String.valueOf(PAGE_SIZE))
+                            .param("sortBy", "firstName")
+                            .param("direction", direction))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode page = objectMapper.readTree(response);
+            page.get("content").forEach(row -> paged.add(row.get("id").asLong()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+
+        // Assert
+        assertEquals(USERS, expected.size());
+        assertEquals(expected, paged);
+    }
+}
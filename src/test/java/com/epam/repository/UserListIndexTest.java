@@ -0,0 +1,116 @@
+package com.epam.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the Flyway migrations against an embedded Postgres and checks with {@code EXPLAIN} that
+ * every filter of the users list endpoint is served by its index. The statements mirror what
+ * Hibernate renders for {@code UserSpecifications#listing}; range and search filters are checked
+ * on the count query, since for a short first page the planner may rightly walk the primary key.
+ */
+public class UserListIndexTest {
+
+    private static final String SELECT = "select id, username, email, first_name, last_name, active, created_at, " +
+            "updated_at from users u ";
+    private static final String COUNT = "select count(u.id) from users u ";
+
+    private static EmbeddedPostgres postgres;
+
+    @BeforeAll
+    static void setUp() throws IOException, SQLException {
+        postgres = EmbeddedPostgres.start();
+        Flyway.configure()
+                .dataSource(postgres.getPostgresDatabase())
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("insert into users (username, email, password, first_name, last_name, active, " +
+                    "created_at, updated_at) select md5(i::text), md5('e' || i) || '@example.com', 'x', " +
+                    "left(md5('f' || i), 12), left(md5('l' || i), 12), i % 4 <> 0, " +
+                    "timestamp '2024-01-01' + i * interval '1 minute', " +
+                    "timestamp '2024-01-01' + i * interval '1 minute' from generate_series(1, 100000) i");
+            statement.execute("analyze users");
+        }
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void activeFilter_ShouldUsePartialIndex() throws SQLException {
+        // Act
+        String plan = explain(SELECT + "where u.active = true order by u.id limit 10");
+
+        // Assert
+        assertTrue(plan.contains("idx_users_active_id"), plan);
+    }
+
+    @Test
+    void createdAtRange_ShouldUseBtreeIndex() throws SQLException {
+        // Act
+        String plan = explain(COUNT + "where u.created_at >= ? and u.created_at < ?",
+                Timestamp.valueOf(LocalDateTime.of(2024, 1, 2, 0, 0)),
+                Timestamp.valueOf(LocalDateTime.of(2024, 1, 2, 6, 0)));
+
+        // Assert
+        assertTrue(plan.contains("idx_users_created_at_id"), plan);
+    }
+
+    @Test
+    void search_ShouldUseTrigramIndexOnEveryColumn() throws SQLException {
+        // Arrange
+        // A fragment of md5('4242'), the username of one row.
+        String pattern = "%7ecc4de2%";
+
+        // Act
+        String plan = explain(COUNT + "where lower(u.username) like ? escape '\\' " +
+                        "or lower(u.email) like ? escape '\\' " +
+                        "or lower(u.first_name) like ? escape '\\' " +
+                        "or lower(u.last_name) like ? escape '\\'",
+                pattern, pattern, pattern, pattern);
+
+        // Assert
+        assertTrue(plan.contains("idx_users_username_trgm"), plan);
+        assertTrue(plan.contains("idx_users_email_trgm"), plan);
+        assertTrue(plan.contains("idx_users_first_name_trgm"), plan);
+        assertTrue(plan.contains("idx_users_last_name_trgm"), plan);
+        assertFalse(plan.contains("Seq Scan"), plan);
+    }
+
+    private static String explain(String sql, Object... parameters) throws SQLException {
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             PreparedStatement statement = connection.prepareStatement("explain " + sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    plan.append(rows.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        }
+    }
+}
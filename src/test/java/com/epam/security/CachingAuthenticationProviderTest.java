@@ -0,0 +1,87 @@
+package com.epam.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CachingAuthenticationProviderTest {
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private CachingAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        DaoAuthenticationProvider delegate = new DaoAuthenticationProvider(userDetailsService);
+        delegate.setPasswordEncoder(passwordEncoder);
+        CredentialCache credentialCache = new CredentialCache(100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+        provider = new CachingAuthenticationProvider(delegate, credentialCache);
+    }
+
+    @Test
+    void authenticate_WhenCredentialsAreCached_ShouldSkipLookupAndHashing() {
+        // Arrange
+        when(userDetailsService.loadUserByUsername("testuser")).thenReturn(user("hash1"));
+        when(passwordEncoder.matches("secret1", "hash1")).thenReturn(true);
+
+        // Act
+        Authentication first = provider.authenticate(basic("secret1"));
+        Authentication second = provider.authenticate(basic("secret1"));
+
+        // Assert
+        assertTrue(first.isAuthenticated());
+        assertTrue(second.isAuthenticated());
+        assertEquals("testuser", second.getName());
+        assertNull(second.getCredentials());
+        verify(userDetailsService, times(1)).loadUserByUsername("testuser");
+        verify(passwordEncoder, times(1)).matches(anyString(), anyString());
+    }
+
+    @Test
+    void authenticate_WhenPasswordChanged_ShouldMissCacheAndVerifyAgain() {
+        // Arrange
+        when(userDetailsService.loadUserByUsername("testuser")).thenReturn(user("hash1"), user("hash2"), user("hash2"));
+        when(passwordEncoder.matches("secret1", "hash1")).thenReturn(true);
+        when(passwordEncoder.matches("secret2", "hash2")).thenReturn(true);
+        provider.authenticate(basic("secret1"));
+
+        // Act
+        Authentication changed = provider.authenticate(basic("secret2"));
+
+        // Assert
+        assertTrue(changed.isAuthenticated());
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(basic("secret1")));
+        verify(userDetailsService, times(3)).loadUserByUsername("testuser");
+    }
+
+    private static UsernamePasswordAuthenticationToken basic(String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated("testuser", password);
+    }
+
+    private static User user(String passwordHash) {
+        return new User("testuser", passwordHash, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+}
@@ -0,0 +1,102 @@
+package com.epam.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CredentialCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private CredentialCache credentialCache;
+    private UserDetails user;
+
+    @BeforeEach
+    void setUp() {
+        credentialCache = new CredentialCache(100, Duration.ofMinutes(5), new SimpleMeterRegistry(), nanos::get);
+        user = new User("testuser", "hashedPassword", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    @Test
+    void get_WhenPresentedPasswordMatches_ShouldReturnCachedUser() {
+        // Arrange
+        credentialCache.put("testuser", "secret1", user, credentialCache.beginLookup());
+
+        // Act
+        Optional<UserDetails> cached = credentialCache.get("testuser", "secret1");
+
+        // Assert
+        assertEquals(Optional.of(user), cached);
+    }
+
+    @Test
+    void get_WhenPresentedPasswordDiffers_ShouldMiss() {
+        // Arrange
+        credentialCache.put("testuser", "secret1", user, credentialCache.beginLookup());
+
+        // Act & Assert
+        assertTrue(credentialCache.get("testuser", "secret2").isEmpty());
+        assertTrue(credentialCache.get("otheruser", "secret1").isEmpty());
+    }
+
+    @Test
+    void get_WhenTtlHasPassed_ShouldMiss() {
+        // Arrange
+        credentialCache.put("testuser", "secret1", user, credentialCache.beginLookup());
+
+        // Act
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(5) + 1);
+
+        // Assert
+        assertTrue(credentialCache.get("testuser", "secret1").isEmpty());
+    }
+
+    @Test
+    void evict_ShouldDropEntryAndRejectLookupsStartedBefore() {
+        // Arrange
+        long lookupStartedAt = credentialCache.beginLookup();
+        credentialCache.put("testuser", "secret1", user, credentialCache.beginLookup());
+
+        // Act
+        credentialCache.evict("testuser");
+        credentialCache.put("testuser", "secret1", user, lookupStartedAt);
+
+        // Assert
+        assertTrue(credentialCache.get("testuser", "secret1").isEmpty());
+        credentialCache.put("testuser", "secret1", user, credentialCache.beginLookup());
+        assertTrue(credentialCache.get("testuser", "secret1").isPresent());
+    }
+
+    @Test
+    void evict_InsideTransaction_ShouldEvictAgainAfterCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            credentialCache.evict("testuser");
+            // A login that started after the eviction but read the row before the commit.
+            credentialCache.put("testuser", "oldsecret", user, credentialCache.beginLookup());
+            assertTrue(credentialCache.get("testuser", "oldsecret").isPresent());
+
+            // Act
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+            // Assert
+            assertTrue(credentialCache.get("testuser", "oldsecret").isEmpty());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.epam.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenServiceTest {
+
+    private static final String SECRET = "test-secret-that-is-long-enough-0123456789";
+
+    private final Instant now = Instant.parse("2025-01-01T10:00:00Z");
+
+    private TokenService tokenService;
+    private UserDetails user;
+
+    @BeforeEach
+    void setUp() {
+        tokenService = new TokenService(SECRET, Duration.ofMinutes(15), Clock.fixed(now, ZoneOffset.UTC));
+        user = new User("testuser", "hashedPassword", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    @Test
+    void verify_WhenTokenIsValid_ShouldReturnClaims() {
+        // Act
+        Optional<TokenService.TokenClaims> claims = tokenService.verify(tokenService.issue(user));
+
+        // Assert
+        assertTrue(claims.isPresent());
+        assertEquals("testuser", claims.get().username());
+        assertEquals(now.getEpochSecond(), claims.get().issuedAt());
+        assertEquals(List.of(new SimpleGrantedAuthority("ROLE_USER")), claims.get().authorities());
+    }
+
+    @Test
+    void verify_WhenTokenIsExpired_ShouldReturnEmpty() {
+        // Arrange
+        String token = tokenService.issue(user);
+        TokenService later = new TokenService(SECRET, Duration.ofMinutes(15),
+                Clock.fixed(now.plus(Duration.ofMinutes(16)), ZoneOffset.UTC));
+
+        // Act & Assert
+        assertTrue(later.verify(token).isEmpty());
+    }
+
+    @Test
+    void verify_WhenSignatureIsTampered_ShouldReturnEmpty() {
+        // Arrange
+        String token = tokenService.issue(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        // Act & Assert
+        assertTrue(tokenService.verify(tampered).isEmpty());
+        assertTrue(tokenService.verify("not-a-token").isEmpty());
+    }
+
+    @Test
+    void constructor_WhenSecretIsMissingOrShort_ShouldThrowException() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> new TokenService("", Duration.ofMinutes(15)));
+        assertThrows(IllegalStateException.class, () -> new TokenService("too-short", Duration.ofMinutes(15)));
+    }
+
+    @Test
+    void isRevoked_WhenTokenIssuedBeforeRevocation_ShouldReturnTrue() {
+        // Arrange
+        TokenRevocationRegistry registry = new TokenRevocationRegistry(tokenService, Clock.fixed(now, ZoneOffset.UTC));
+
+        // Act
+        registry.revoke("testuser");
+
+        // Assert
+        assertTrue(registry.isRevoked("testuser", now.getEpochSecond()));
+        assertFalse(registry.isRevoked("testuser", now.getEpochSecond() + 1));
+        assertFalse(registry.isRevoked("otheruser", now.getEpochSecond()));
+    }
+
+    @Test
+    void revoke_InsideTransaction_ShouldTakeEffectOnlyAfterCommit() {
+        // Arrange
+        TokenRevocationRegistry registry = new TokenRevocationRegistry(tokenService, Clock.fixed(now, ZoneOffset.UTC));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            registry.revoke("committed");
+            registry.revoke("rolledback");
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+
+            // Assert
+            assertFalse(registry.isRevoked("committed", now.getEpochSecond()));
+            synchronizations.get(0).afterCommit();
+            synchronizations.get(1).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            assertTrue(registry.isRevoked("committed", now.getEpochSecond()));
+            assertFalse(registry.isRevoked("rolledback", now.getEpochSecond()));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
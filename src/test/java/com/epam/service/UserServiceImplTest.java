@@ -1,14 +1,34 @@
 package com.epam.service;
 
+import com.epam.common.ETags;
+import com.epam.common.KeysetCursor;
+import com.epam.common.UserSortField;
+import com.epam.dto.BatchItemResultDTO;
+import com.epam.dto.UserBulkFilterDTO;
+import com.epam.dto.UserBulkUpdateDTO;
 import com.epam.dto.UserCreateDTO;
 import com.epam.dto.UserDTO;
+import com.epam.dto.UserListFilterDTO;
+import com.epam.dto.UserLookupDTO;
 import com.epam.dto.UserUpdateDTO;
+import com.epam.dto.UserView;
+import com.epam.exceptions.InvalidRequestException;
 import com.epam.exceptions.ResourceAlreadyExistsException;
 import com.epam.exceptions.ResourceNotFoundException;
 import com.epam.mapper.UserMapper;
 import com.epam.model.User;
-import com.epam.repository.UserRepository;
+import com.epam.repository.UserStore;
+import com.epam.security.CredentialCache;
+import com.epam.security.TokenRevocationRegistry;
+import com.epam.service.impl.ReadYourWrites;
+import com.epam.service.impl.UserAvailabilityIndex;
+import com.epam.service.impl.UserBatchWriter;
+import com.epam.service.impl.UserCountEstimator;
+import com.epam.service.impl.UserExporter;
+import com.epam.service.impl.UserLookupCoalescer;
 import com.epam.service.impl.UserServiceImpl;
+import com.epam.service.impl.UserSuggestIndex;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,13 +36,24 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.sql.SQLException;
+
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -34,7 +65,7 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 public class UserServiceImplTest {
     @Mock
-    private UserRepository repository;
+    private UserStore repository;
 
     @Mock
     private UserMapper userMapper;
@@ -42,6 +73,33 @@ public class UserServiceImplTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private CredentialCache credentialCache;
+
+    @Mock
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Mock
+    private UserCountEstimator userCountEstimator;
+
+    @Mock
+    private UserBatchWriter userBatchWriter;
+
+    @Mock
+    private UserExporter userExporter;
+
+    @Mock
+    private UserAvailabilityIndex userAvailabilityIndex;
+
+    @Mock
+    private UserSuggestIndex userSuggestIndex;
+
+    @Mock
+    private UserLookupCoalescer userLookupCoalescer;
+
+    @Mock
+    private ReadYourWrites readYourWrites;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -49,11 +107,15 @@ public class UserServiceImplTest {
     private UserDTO testUserDTO;
     private UserCreateDTO testUserCreateDTO;
     private UserUpdateDTO testUserUpdateDTO;
-    private List<User> userList;
-    private List<UserDTO> userDTOList;
+    private List<UserView> userViewList;
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(userService, "maxBatchSize", 2);
+        ReflectionTestUtils.setField(userService, "maxLookupSize", 3);
+        ReflectionTestUtils.setField(userService, "maxChangesBatchSize", 100);
+        ReflectionTestUtils.setField(userService, "changesSettleTime", Duration.ofSeconds(5));
+
         testUser = new User();
         testUser.setId(1L);
         testUser.setUsername("testuser");
@@ -86,43 +148,218 @@ public class UserServiceImplTest {
         testUserUpdateDTO.setFirstName("Updated");
         testUserUpdateDTO.setLastName("User");
 
-        userList = new ArrayList<>();
-        userList.add(testUser);
-
-        userDTOList = new ArrayList<>();
-        userDTOList.add(testUserDTO);
+        userViewList = List.of(new UserView(1L, "testuser", "test@example.com", "Test", "User", true,
+                testUser.getCreatedAt(), testUser.getUpdatedAt()));
     }
 
     @Test
     void getAll_ShouldReturnPaginatedUsers() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id"));
-        Page<User> userPage = new PageImpl<>(userList, pageable, 1);
+        Page<UserView> userPage = new PageImpl<>(userViewList, pageable, 1);
 
-        when(repository.findAll(any(Pageable.class))).thenReturn(userPage);
-        when(userMapper.toDtoList(anyList())).thenReturn(userDTOList);
+        when(repository.findAllViews(any(Pageable.class))).thenReturn(userPage);
 
         // Act
-        ResponseEntity<Map<String, Object>> response = userService.getAll(0, 10, "id", "asc");
+        ResponseEntity<Map<String, Object>> response =
+                userService.getAll(0, 10, "id", "asc", "exact", new UserListFilterDTO());
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
 
         Map<String, Object> responseBody = response.getBody();
-        assertEquals(userDTOList, responseBody.get("content"));
+        assertEquals(userViewList, responseBody.get("content"));
         assertEquals(0, responseBody.get("currentPage"));
         assertEquals(1L, responseBody.get("totalItems"));
         assertEquals(1, responseBody.get("totalPages"));
+        assertNotNull(response.getHeaders().getETag());
+
+        verify(repository).findAllViews(any(Pageable.class));
+        verifyNoInteractions(userMapper);
+    }
+
+    @Test
+    void getAll_WhenSortFieldIsNotExposed_ShouldThrowException() {
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () ->
+                userService.getAll(0, 10, "password", "asc", "exact", new UserListFilterDTO()));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void getAll_WhenCountIsNone_ShouldSkipCountQuery() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id"));
+        Slice<UserView> userSlice = new SliceImpl<>(userViewList, pageable, false);
+
+        when(repository.findViewSlice(any(Pageable.class))).thenReturn(userSlice);
+
+        // Act
+        ResponseEntity<Map<String, Object>> response =
+                userService.getAll(0, 10, "id", "asc", "none", new UserListFilterDTO());
+
+        // Assert
+        Map<String, Object> responseBody = response.getBody();
+        assertNotNull(responseBody);
+        assertEquals(userViewList, responseBody.get("content"));
+        assertEquals(true, responseBody.get("last"));
+        assertFalse(responseBody.containsKey("totalItems"));
+
+        verify(repository, never()).findAllViews(any(Pageable.class));
+        verify(repository, never()).count();
+    }
+
+    @Test
+    void getAll_WhenCountIsEstimate_ShouldUseEstimator() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 1, Sort.by(Sort.Direction.ASC, "id"));
+        Slice<UserView> userSlice = new SliceImpl<>(userViewList, pageable, true);
+
+        when(repository.findViewSlice(any(Pageable.class))).thenReturn(userSlice);
+        when(userCountEstimator.getEstimate()).thenReturn(1000L);
+
+        // Act
+        ResponseEntity<Map<String, Object>> response =
+                userService.getAll(0, 1, "id", "asc", "estimate", new UserListFilterDTO());
+
+        // Assert
+        Map<String, Object> responseBody = response.getBody();
+        assertNotNull(responseBody);
+        assertEquals(1000L, responseBody.get("totalItems"));
+        assertEquals(1000, responseBody.get("totalPages"));
+        verify(repository, never()).findAllViews(any(Pageable.class));
+    }
+
+    @Test
+    void getAll_WhenFiltered_ShouldQueryBySpecification() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id"));
+        UserListFilterDTO filter = new UserListFilterDTO(true, null, null, "test");
+
+        when(repository.findViewPage(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(userViewList, pageable, 1));
+
+        // Act
+        ResponseEntity<Map<String, Object>> response = userService.getAll(0, 10, "id", "asc", "exact", filter);
+
+        // Assert
+        Map<String, Object> responseBody = response.getBody();
+        assertNotNull(responseBody);
+        assertEquals(userViewList, responseBody.get("content"));
+        assertEquals(1L, responseBody.get("totalItems"));
+        verify(repository, never()).findAllViews(any(Pageable.class));
+    }
+
+    @Test
+    void getAll_WhenFilteredWithEstimatedCount_ShouldThrowException() {
+        // Arrange
+        UserListFilterDTO filter = new UserListFilterDTO(true, null, null, null);
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> userService.getAll(0, 10, "id", "asc", "estimate", filter));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void getAllByCursor_WhenMoreRowsExist_ShouldReturnNextCursor() {
+        // Arrange
+        UserView secondUser = new UserView(2L, "seconduser", "second@example.com", null, null, true,
+                LocalDateTime.now(), null);
+
+        when(repository.findViews(isNull(), any(Sort.class), eq(2)))
+                .thenReturn(List.of(userViewList.get(0), secondUser));
+
+        // Act
+        ResponseEntity<Map<String, Object>> response =
+                userService.getAllByCursor("", 1, "username", "asc", new UserListFilterDTO());
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        Map<String, Object> responseBody = response.getBody();
+        assertNotNull(responseBody);
+        assertEquals(false, responseBody.get("last"));
+
+        KeysetCursor nextCursor = KeysetCursor.decode((String) responseBody.get("nextCursor"));
+        assertEquals(UserSortField.USERNAME, nextCursor.sortField());
+        assertEquals(Sort.Direction.ASC, nextCursor.direction());
+        assertEquals("testuser", nextCursor.key());
+        assertEquals(1L, nextCursor.id());
+        assertEquals(userViewList, responseBody.get("content"));
+    }
+
+    @Test
+    void getAllByCursor_WhenCursorSortDiffers_ShouldThrowException() {
+        // Arrange
+        String cursor = new KeysetCursor(UserSortField.USERNAME, Sort.Direction.ASC, "testuser", 1L).encode();
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () ->
+                userService.getAllByCursor(cursor, 10, "email", "asc", new UserListFilterDTO()));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void getChanges_WhenMoreChangesExist_ShouldReturnWatermarkOfLastRow() {
+        // Arrange
+        UserView secondUser = new UserView(2L, "seconduser", "second@example.com", null, null, false,
+                LocalDateTime.now(), LocalDateTime.now());
+
+        when(repository.findViews(any(Specification.class), any(Sort.class), eq(2)))
+                .thenReturn(List.of(userViewList.get(0), secondUser));
+
+        // Act
+        ResponseEntity<Map<String, Object>> response = userService.getChanges(null, 1);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        Map<String, Object> responseBody = response.getBody();
+        assertNotNull(responseBody);
+        assertEquals(userViewList, responseBody.get("content"));
+        assertEquals(true, responseBody.get("hasMore"));
+
+        KeysetCursor watermark = KeysetCursor.decode((String) responseBody.get("watermark"));
+        assertEquals(UserSortField.UPDATED_AT, watermark.sortField());
+        assertEquals(Sort.Direction.ASC, watermark.direction());
+        assertEquals(testUser.getUpdatedAt(), watermark.key());
+        assertEquals(1L, watermark.id());
+    }
+
+    @Test
+    void getChanges_WhenNothingChanged_ShouldReturnSameWatermark() {
+        // Arrange
+        String since = new KeysetCursor(UserSortField.UPDATED_AT, Sort.Direction.ASC,
+                LocalDateTime.of(2025, 1, 1, 0, 0), 7L).encode();
+
+        when(repository.findViews(any(Specification.class), any(Sort.class), eq(11))).thenReturn(List.of());
+
+        // Act
+        ResponseEntity<Map<String, Object>> response = userService.getChanges(since, 10);
 
-        verify(repository).findAll(any(Pageable.class));
-        verify(userMapper).toDtoList(userList);
+        // Assert
+        Map<String, Object> responseBody = response.getBody();
+        assertNotNull(responseBody);
+        assertEquals(List.of(), responseBody.get("content"));
+        assertEquals(false, responseBody.get("hasMore"));
+        assertEquals(since, responseBody.get("watermark"));
+    }
+
+    @Test
+    void getChanges_WhenWatermarkOrLimitIsInvalid_ShouldThrowException() {
+        // Arrange
+        String listCursor = new KeysetCursor(UserSortField.USERNAME, Sort.Direction.ASC, "testuser", 1L).encode();
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> userService.getChanges(listCursor, 10));
+        assertThrows(InvalidRequestException.class, () -> userService.getChanges(null, 101));
+        assertThrows(InvalidRequestException.class, () -> userService.getChanges("2025-01-01T00:00:00", 0));
+        verifyNoInteractions(repository);
     }
 
     @Test
     void getById_WhenUserExists_ShouldReturnUser() {
         // Arrange
-        when(repository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userLookupCoalescer.findById(1L)).thenReturn(Optional.of(testUser));
         when(userMapper.toDto(testUser)).thenReturn(testUserDTO);
 
         // Act
@@ -131,19 +368,57 @@ public class UserServiceImplTest {
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(testUserDTO, response.getBody());
+        assertEquals(ETags.forUser(1L, testUser.getCreatedAt(), testUser.getUpdatedAt()),
+                response.getHeaders().getETag());
+        assertTrue(response.getHeaders().getLastModified() > 0);
 
-        verify(repository).findById(1L);
+        verify(userLookupCoalescer).findById(1L);
         verify(userMapper).toDto(testUser);
     }
 
     @Test
     void getById_WhenUserDoesNotExist_ShouldThrowException() {
         // Arrange
-        when(repository.findById(999L)).thenReturn(Optional.empty());
+        when(userLookupCoalescer.findById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> userService.getById(999L));
-        verify(repository).findById(999L);
+        verify(userLookupCoalescer).findById(999L);
+    }
+
+    @Test
+    void lookup_ShouldReturnUsersInRequestOrderAndReportMissingIds() {
+        // Arrange
+        User secondUser = new User();
+        secondUser.setId(2L);
+        UserDTO secondUserDTO = new UserDTO();
+        secondUserDTO.setId(2L);
+
+        when(repository.findAllByIdOrdered(List.of(2L, 999L, 1L)))
+                .thenReturn(Arrays.asList(secondUser, null, testUser));
+        when(userMapper.toDto(secondUser)).thenReturn(secondUserDTO);
+        when(userMapper.toDto(testUser)).thenReturn(testUserDTO);
+
+        // Act
+        ResponseEntity<Map<String, Object>> response =
+                userService.lookup(new UserLookupDTO(List.of(2L, 999L, 1L, 2L)));
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        Map<String, Object> responseBody = response.getBody();
+        assertNotNull(responseBody);
+        assertEquals(List.of(secondUserDTO, testUserDTO), responseBody.get("users"));
+        assertEquals(List.of(999L), responseBody.get("missing"));
+        assertEquals(3, responseBody.get("requested"));
+        assertEquals(2, responseBody.get("found"));
+    }
+
+    @Test
+    void lookup_WhenTooManyIds_ShouldThrowException() {
+        // Act & Assert
+        assertThrows(InvalidRequestException.class,
+                () -> userService.lookup(new UserLookupDTO(List.of(1L, 2L, 3L, 4L))));
+        verifyNoInteractions(repository);
     }
 
     @Test
@@ -165,11 +440,9 @@ public class UserServiceImplTest {
         savedUser.setLastName("User");
         savedUser.setActive(true);
 
-        when(repository.findByUsername(anyString())).thenReturn(Optional.empty());
-        when(repository.findByEmail(anyString())).thenReturn(Optional.empty());
         when(userMapper.toEntity(testUserCreateDTO)).thenReturn(userFromDto);
         when(passwordEncoder.encode("password123")).thenReturn("encodedPassword");
-        when(repository.save(any(User.class))).thenReturn(savedUser);
+        when(repository.saveAndFlush(any(User.class))).thenReturn(savedUser);
         when(userMapper.toDto(savedUser)).thenReturn(testUserDTO);
 
         // Act
@@ -179,13 +452,13 @@ public class UserServiceImplTest {
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         assertEquals(testUserDTO, response.getBody());
 
-        verify(repository).findByUsername(testUserCreateDTO.getUsername());
-        verify(repository).findByEmail(testUserCreateDTO.getEmail());
         verify(userMapper).toEntity(testUserCreateDTO);
         verify(passwordEncoder).encode("password123");
+        verify(userAvailabilityIndex).add(testUserCreateDTO.getUsername(), testUserCreateDTO.getEmail());
 
         ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
-        verify(repository).save(userCaptor.capture());
+        verify(repository).saveAndFlush(userCaptor.capture());
+        verifyNoMoreInteractions(repository);
         User capturedUser = userCaptor.getValue();
         assertEquals("encodedPassword", capturedUser.getPassword());
 
@@ -195,27 +468,89 @@ public class UserServiceImplTest {
     @Test
     void create_WhenUsernameExists_ShouldThrowException() {
         // Arrange
-        when(repository.findByUsername(testUserCreateDTO.getUsername())).thenReturn(Optional.of(testUser));
+        when(userMapper.toEntity(testUserCreateDTO)).thenReturn(new User());
+        when(repository.saveAndFlush(any(User.class))).thenThrow(uniqueViolation("PUBLIC.UK_USERS_USERNAME_INDEX_4"));
 
         // Act & Assert
-        assertThrows(ResourceAlreadyExistsException.class, () -> userService.create(testUserCreateDTO));
+        ResourceAlreadyExistsException exception = assertThrows(ResourceAlreadyExistsException.class,
+                () -> userService.create(testUserCreateDTO));
+        assertEquals("User with Username: " + testUserCreateDTO.getUsername() + " is already exists",
+                exception.getMessage());
 
-        verify(repository).findByUsername(testUserCreateDTO.getUsername());
-        verifyNoMoreInteractions(repository, userMapper, passwordEncoder);
+        verify(repository).saveAndFlush(any(User.class));
+        verifyNoMoreInteractions(repository);
     }
 
     @Test
     void create_WhenEmailExists_ShouldThrowException() {
         // Arrange
-        when(repository.findByUsername(testUserCreateDTO.getUsername())).thenReturn(Optional.empty());
-        when(repository.findByEmail(testUserCreateDTO.getEmail())).thenReturn(Optional.of(testUser));
+        when(userMapper.toEntity(testUserCreateDTO)).thenReturn(new User());
+        when(repository.saveAndFlush(any(User.class))).thenThrow(uniqueViolation("uk_users_email"));
 
         // Act & Assert
-        assertThrows(ResourceAlreadyExistsException.class, () -> userService.create(testUserCreateDTO));
+        ResourceAlreadyExistsException exception = assertThrows(ResourceAlreadyExistsException.class,
+                () -> userService.create(testUserCreateDTO));
+        assertEquals("User with email: " + testUserCreateDTO.getEmail() + " is already exists",
+                exception.getMessage());
+
+        verify(repository).saveAndFlush(any(User.class));
+        verifyNoMoreInteractions(repository);
+    }
 
-        verify(repository).findByUsername(testUserCreateDTO.getUsername());
-        verify(repository).findByEmail(testUserCreateDTO.getEmail());
-        verifyNoMoreInteractions(repository, userMapper, passwordEncoder);
+    @Test
+    void checkAvailability_ShouldAnswerEachRequestedField() {
+        // Arrange
+        when(userAvailabilityIndex.isUsernameTaken("testuser")).thenReturn(true);
+        when(userAvailabilityIndex.isEmailTaken("free@example.com")).thenReturn(false);
+
+        // Act
+        ResponseEntity<Map<String, Object>> response = userService.checkAvailability("testuser", "free@example.com");
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        Map<String, Object> responseBody = response.getBody();
+        assertNotNull(responseBody);
+        assertEquals(false, responseBody.get("usernameAvailable"));
+        assertEquals(true, responseBody.get("emailAvailable"));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void checkAvailability_WhenNothingRequested_ShouldThrowException() {
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> userService.checkAvailability(" ", null));
+        verifyNoInteractions(userAvailabilityIndex);
+    }
+
+    @Test
+    void createBatch_WhenItemsAreMixed_ShouldReturnPerItemResults() {
+        // Arrange
+        List<UserCreateDTO> dtos = List.of(testUserCreateDTO, new UserCreateDTO());
+        List<BatchItemResultDTO> results = List.of(
+                BatchItemResultDTO.created(0, testUserDTO),
+                BatchItemResultDTO.failed(1, BatchItemResultDTO.Status.INVALID, "username: Username is required"));
+        when(userBatchWriter.write(dtos, 0)).thenReturn(results);
+
+        // Act
+        ResponseEntity<Map<String, Object>> response = userService.createBatch(dtos);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        Map<String, Object> responseBody = response.getBody();
+        assertNotNull(responseBody);
+        assertEquals(results, responseBody.get("results"));
+        assertEquals(1L, responseBody.get("created"));
+        assertEquals(1L, responseBody.get("failed"));
+    }
+
+    @Test
+    void createBatch_WhenBatchTooLarge_ShouldThrowException() {
+        // Arrange
+        List<UserCreateDTO> dtos = List.of(testUserCreateDTO, testUserCreateDTO, testUserCreateDTO);
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> userService.createBatch(dtos));
+        verifyNoInteractions(userBatchWriter);
     }
 
     @Test
@@ -242,6 +577,9 @@ public class UserServiceImplTest {
         verify(userMapper).toEntity(eq(testUserUpdateDTO), any(User.class));
         verify(repository).save(updatedUser);
         verify(userMapper).toDto(updatedUser);
+        verify(credentialCache).evict("testuser");
+        verify(tokenRevocationRegistry).revoke("testuser");
+        verify(readYourWrites).recordWrite("testuser", "updateduser");
     }
 
     @Test
@@ -265,6 +603,9 @@ public class UserServiceImplTest {
         User capturedUser = userCaptor.getValue();
         assertFalse(capturedUser.isActive());
         assertNotNull(capturedUser.getUpdatedAt());
+        verify(credentialCache).evict("testuser");
+        verify(tokenRevocationRegistry).revoke("testuser");
+        verify(userSuggestIndex).remove(1L);
     }
 
     @Test
@@ -279,4 +620,77 @@ public class UserServiceImplTest {
         verifyNoMoreInteractions(repository);
     }
 
+    @Test
+    void bulkDeactivate_WhenFilteringByIds_ShouldRunSingleUpdate() {
+        // Arrange
+        UserBulkFilterDTO filter = new UserBulkFilterDTO();
+        filter.setIds(List.of(1L, 2L));
+
+        when(repository.findActiveUsernamesByIds(filter.getIds())).thenReturn(List.of("testuser"));
+        when(repository.deactivateByIds(eq(filter.getIds()), any(LocalDateTime.class))).thenReturn(1);
+
+        // Act
+        ResponseEntity<Map<String, Object>> response = userService.bulkDeactivate(filter);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(Map.of("affected", 1), response.getBody());
+
+        verify(repository, never()).findById(anyLong());
+        verify(repository, never()).save(any(User.class));
+        verify(credentialCache).evict("testuser");
+        verify(tokenRevocationRegistry).revoke("testuser");
+        verify(userSuggestIndex).remove(1L);
+        verify(userSuggestIndex).remove(2L);
+    }
+
+    @Test
+    void bulkUpdate_WhenFilterIsEmpty_ShouldThrowException() {
+        // Arrange
+        UserBulkUpdateDTO dto = new UserBulkUpdateDTO(new UserBulkFilterDTO(), null, "Renamed", null);
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> userService.bulkUpdate(dto));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void export_WhenClientAcceptsGzip_ShouldCompressStream() throws Exception {
+        // Arrange
+        when(userExporter.writeNdjson(any(OutputStream.class))).thenAnswer(invocation -> {
+            invocation.getArgument(0, OutputStream.class).write("{\"id\":1}\n".getBytes());
+            return 1L;
+        });
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response = userService.export("br, gzip;q=0.8");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        byte[] bytes = out.toByteArray();
+        assertEquals((byte) 0x1f, bytes[0]);
+        assertEquals((byte) 0x8b, bytes[1]);
+    }
+
+    @Test
+    void export_WhenGzipIsRefused_ShouldWritePlainNdjson() throws Exception {
+        // Act
+        ResponseEntity<StreamingResponseBody> response = userService.export("gzip;q=0");
+        response.getBody().writeTo(new ByteArrayOutputStream());
+
+        // Assert
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        verify(userExporter).writeNdjson(any(OutputStream.class));
+        verifyNoInteractions(repository);
+    }
+
+    private DataIntegrityViolationException uniqueViolation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("duplicate key", new SQLException("duplicate key"),
+                        "insert into users", constraintName));
+    }
 }
@@ -0,0 +1,78 @@
+package com.epam.service.impl;
+
+import com.epam.mapper.UserMapper;
+import com.epam.model.User;
+import com.epam.repository.UserStore;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserExporterTest {
+
+    @Mock
+    private UserStore repository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private UserExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        exporter = new UserExporter(repository, new UserMapper(), new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(exporter, "entityManager", entityManager);
+    }
+
+    @Test
+    void writeNdjson_ShouldWriteOneJsonObjectPerLine() throws Exception {
+        // Arrange
+        User first = user(1L, "user1");
+        User second = user(2L, "user2");
+        User third = user(3L, "user3");
+        when(repository.streamAllOrderedById()).thenReturn(Stream.of(first, second, third));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long rows = exporter.writeNdjson(out);
+
+        // Assert
+        assertEquals(3, rows);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertEquals(4, lines.length);
+        assertEquals("", lines[3]);
+        ObjectMapper objectMapper = new ObjectMapper();
+        for (int i = 0; i < 3; i++) {
+            assertTrue(lines[i].startsWith("{"), "line " + i + " starts with " + lines[i].charAt(0));
+            JsonNode row = objectMapper.readTree(lines[i]);
+            assertEquals(i + 1, row.get("id").asLong());
+            assertEquals("user" + (i + 1), row.get("username").asText());
+        }
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+        verify(entityManager).detach(third);
+    }
+
+    private static User user(Long id, String username) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("hash");
+        user.setActive(true);
+        return user;
+    }
+}
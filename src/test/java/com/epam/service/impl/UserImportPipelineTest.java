@@ -0,0 +1,140 @@
+package com.epam.service.impl;
+
+import com.epam.common.ImportFormat;
+import com.epam.dto.BatchItemResultDTO;
+import com.epam.dto.UserCreateDTO;
+import com.epam.dto.UserDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserImportPipelineTest {
+
+    @Mock
+    private UserBatchWriter userBatchWriter;
+
+    @TempDir
+    private Path tempDir;
+
+    private UserImportPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        pipeline = new UserImportPipeline(userBatchWriter, new ObjectMapper());
+        ReflectionTestUtils.setField(pipeline, "chunkSize", 2);
+        ReflectionTestUtils.setField(pipeline, "queueCapacity", 1);
+
+        when(userBatchWriter.write(anyList(), anyInt())).thenAnswer(invocation -> {
+            List<UserCreateDTO> rows = invocation.getArgument(0);
+            int offset = invocation.getArgument(1);
+            List<BatchItemResultDTO> results = new ArrayList<>();
+            for (int i = 0; i < rows.size(); i++) {
+                results.add(rows.get(i) == null
+                        ? BatchItemResultDTO.failed(offset + i, BatchItemResultDTO.Status.INVALID, "User data is required")
+                        : BatchItemResultDTO.created(offset + i, new UserDTO()));
+            }
+            return results;
+        });
+    }
+
+    @Test
+    void run_WhenNdjsonContainsMalformedLine_ShouldReportItAndKeepGoing() throws Exception {
+        // Arrange
+        Path source = Files.writeString(tempDir.resolve("users.ndjson"), """
+                {"username":"user1","email":"u1@example.com","password":"secret1"}
+                {"username":
+                
+                {"username":"user3","email":"u3@example.com","password":"secret1"}
+                {"username":"user4","email":"u4@example.com","password":"secret1"}
+                """);
+        Path errors = tempDir.resolve("errors.ndjson");
+        UserImportJob job = new UserImportJob("job", ImportFormat.NDJSON);
+
+        // Act
+        pipeline.run(job, source, errors);
+
+        // Assert
+        assertEquals(4, job.getProcessed().get());
+        assertEquals(3, job.getCreated().get());
+        assertEquals(1, job.getFailed().get());
+
+        List<String> errorLines = Files.readAllLines(errors);
+        assertEquals(1, errorLines.size());
+        assertTrue(errorLines.get(0).contains("\"index\":1"));
+        assertTrue(errorLines.get(0).contains("Malformed JSON"));
+
+        ArgumentCaptor<Integer> offsets = ArgumentCaptor.forClass(Integer.class);
+        verify(userBatchWriter, times(2)).write(anyList(), offsets.capture());
+        assertEquals(List.of(0, 2), offsets.getAllValues());
+    }
+
+    @Test
+    void run_WhenCsvHasHeader_ShouldMapColumnsByName() throws Exception {
+        // Arrange
+        Path source = Files.writeString(tempDir.resolve("users.csv"), """
+                email,username,password,firstName,legacyId
+                u1@example.com,user1,secret1,First,17
+                u2@example.com,user2,secret1,,18
+                u3@example.com,user3,secret1,Third,19
+                """);
+        UserImportJob job = new UserImportJob("job", ImportFormat.CSV);
+
+        // Act
+        pipeline.run(job, source, tempDir.resolve("errors.ndjson"));
+
+        // Assert
+        assertEquals(3, job.getCreated().get());
+        assertEquals(0, job.getFailed().get());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<UserCreateDTO>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(userBatchWriter, times(2)).write(chunks.capture(), anyInt());
+        UserCreateDTO first = chunks.getAllValues().get(0).get(0);
+        assertEquals("user1", first.getUsername());
+        assertEquals("u1@example.com", first.getEmail());
+        assertEquals("First", first.getFirstName());
+    }
+
+    @Test
+    void run_WhenCsvContainsMalformedRow_ShouldReportItAndKeepGoing() throws Exception {
+        // Arrange
+        Path source = Files.writeString(tempDir.resolve("users.csv"), """
+                email,username,password
+                u1@example.com,user1,secret1
+                "u2@example.com"junk,user2,secret1
+                u3@example.com,user3,secret1
+                """);
+        Path errors = tempDir.resolve("errors.ndjson");
+        UserImportJob job = new UserImportJob("job", ImportFormat.CSV);
+
+        // Act
+        pipeline.run(job, source, errors);
+
+        // Assert
+        assertEquals(3, job.getProcessed().get());
+        assertEquals(2, job.getCreated().get());
+        assertEquals(1, job.getFailed().get());
+
+        List<String> errorLines = Files.readAllLines(errors);
+        assertEquals(1, errorLines.size());
+        assertTrue(errorLines.get(0).contains("\"index\":1"));
+        assertTrue(errorLines.get(0).contains("Malformed CSV row"));
+    }
+}
@@ -0,0 +1,135 @@
+package com.epam.service.impl;
+
+import com.epam.dto.UserSuggestion;
+import com.epam.dto.UserView;
+import com.epam.repository.UserStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+public class UserSuggestIndexTest {
+
+    @Mock
+    private UserStore repository;
+
+    private UserSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UserSuggestIndex(repository, new ReadYourWrites(List.of(), Duration.ofSeconds(5)), Duration.ofHours(6),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void suggest_ShouldMatchAnyNameFieldCaseInsensitively() {
+        // Arrange
+        load(List.of(
+                view(1L, "jdoe", "John", "Doe"),
+                view(2L, "asmith", "Anna", "Johnson"),
+                view(3L, "johnny", null, null),
+                view(4L, "bob", "Bob", "Brown")));
+
+        // Act
+        List<UserSuggestion> suggestions = index.suggest("JOH", 10);
+
+        // Assert
+        assertEquals(List.of(1L, 3L, 2L), suggestions.stream().map(UserSuggestion::id).toList());
+        assertEquals("John", suggestions.get(0).firstName());
+    }
+
+    @Test
+    void suggest_ShouldReturnAtMostLimitDistinctUsers() {
+        // Arrange
+        load(List.of(
+                view(1L, "anna1", "Anna", "Anders"),
+                view(2L, "anna2", "Anna", null),
+                view(3L, "anna3", "Anna", null)));
+
+        // Act
+        List<UserSuggestion> suggestions = index.suggest("an", 2);
+
+        // Assert
+        assertEquals(List.of(1L, 2L), suggestions.stream().map(UserSuggestion::id).toList());
+    }
+
+    @Test
+    void put_ShouldShadowSnapshotEntriesOfTheSameUser() {
+        // Arrange
+        load(List.of(view(1L, "jdoe", "John", "Doe"), view(2L, "jroe", "Jane", "Roe")));
+
+        // Act
+        index.put(1L, "jdoe", "Jack", "Doe");
+        index.put(5L, "jackie", null, null);
+
+        // Assert
+        assertEquals(List.of(1L, 5L), index.suggest("jac", 10).stream().map(UserSuggestion::id).toList());
+        assertTrue(index.suggest("john", 10).isEmpty());
+        assertEquals(List.of(2L), index.suggest("jan", 10).stream().map(UserSuggestion::id).toList());
+    }
+
+    @Test
+    void remove_ShouldHideUserUntilRebuildAndRebuildShouldSkipInactiveUsers() {
+        // Arrange
+        load(List.of(view(1L, "jdoe", "John", "Doe"), view(2L, "jroe", "Jane", "Roe")));
+
+        // Act
+        index.remove(1L);
+        List<UserSuggestion> afterRemove = index.suggest("j", 10);
+        load(List.of(inactive(view(1L, "jdoe", "John", "Doe")), view(2L, "jroe", "Jane", "Roe")));
+
+        // Assert
+        assertEquals(List.of(2L), afterRemove.stream().map(UserSuggestion::id).toList());
+        assertEquals(List.of(2L), index.suggest("j", 10).stream().map(UserSuggestion::id).toList());
+    }
+
+    @Test
+    void rebuild_ShouldKeepFootprintCompact() {
+        // Arrange
+        int users = 200_000;
+        doAnswer(invocation -> {
+            Consumer<UserView> action = invocation.getArgument(0);
+            for (long id = 1; id <= users; id++) {
+                action.accept(view(id, "user" + id, "First" + (id % 5000), "Lastname" + (id % 20000)));
+            }
+            return null;
+        }).when(repository).forEachView(any());
+
+        // Act
+        index.rebuild();
+
+        // Assert
+        long bytesPerMillion = index.sizeInBytes() * 1_000_000 / users;
+        assertTrue(bytesPerMillion < 80L * 1024 * 1024, "bytes per million users: " + bytesPerMillion);
+        assertEquals(10, index.suggest("user1999", 10).size());
+    }
+
+    private void load(List<UserView> views) {
+        doAnswer(invocation -> {
+            Consumer<UserView> action = invocation.getArgument(0);
+            views.forEach(action);
+            return null;
+        }).when(repository).forEachView(any());
+        index.rebuild();
+    }
+
+    private static UserView view(Long id, String username, String firstName, String lastName) {
+        return new UserView(id, username, username + "@example.com", firstName, lastName, true, null, null);
+    }
+
+    private static UserView inactive(UserView view) {
+        return new UserView(view.id(), view.username(), view.email(), view.firstName(), view.lastName(), false,
+                null, null);
+    }
+}
@@ -0,0 +1,67 @@
+package com.epam.support;
+
+import com.epam.common.JdbcStatementMetrics;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Counts the JDBC statements run on the current thread while open, for pinning a code path to a
+ * query budget:
+ * <pre>{@code
+ * try (QueryCount queries = QueryCount.start()) {
+ *     mockMvc.perform(get("/api/v1/users/{id}", id));
+ *     queries.assertAtMost(1).assertNoRepeatedStatements();
+ * }
+ * }</pre>
+ * Only statements going through the instrumented data source are seen, so the application context
+ * must be a real one; MockMvc runs the request on the calling thread.
+ */
+public final class QueryCount implements AutoCloseable {
+
+    private final JdbcStatementMetrics.Usage usage;
+
+    private QueryCount(JdbcStatementMetrics.Usage usage) {
+        this.usage = usage;
+    }
+
+    public static QueryCount start() {
+        return new QueryCount(JdbcStatementMetrics.track());
+    }
+
+    public int count() {
+        return usage.getStatements();
+    }
+
+    public QueryCount assertAtMost(int budget) {
+        if (usage.getStatements() > budget) {
+            fail("Expected at most " + budget + " statements but " + usage.getStatements() + " ran:"
+                    + describe(usage.getExecutions()));
+        }
+        return this;
+    }
+
+    /**
+     * Fails when any statement ran more than once with identical text.
+     */
+    public QueryCount assertNoRepeatedStatements() {
+        Map<String, Integer> repeated = usage.getRepeated(2);
+        if (!repeated.isEmpty()) {
+            fail("Expected no repeated statements:" + describe(repeated));
+        }
+        return this;
+    }
+
+    @Override
+    public void close() {
+        usage.close();
+    }
+
+    private static String describe(Map<String, Integer> executions) {
+        return executions.entrySet().stream()
+                .map(entry -> "\n  " + entry.getValue() + "x " + entry.getKey())
+                .collect(Collectors.joining());
+    }
+}